@@ -0,0 +1,53 @@
+@echo off
+rem Launches the password generator on the bundled runtime with the AppCDS archive.
+rem Pass --headless [--length N] [--count N] [--special] to generate passwords on the command line.
+rem Set PASSWORDGENERATOR_CDS=off to start without the application archive.
+rem
+rem The caller's working directory is kept, so relative paths in the arguments work as usual;
+rem all distribution paths are made absolute from the location of this script instead.
+rem The class path must match the one recorded in app.jsa, which holds the absolute paths of
+rem the build. If the distribution has been moved, the archive is ignored; run once with
+rem PASSWORDGENERATOR_CDS=record to record it again for the new location.
+rem
+rem The vectorized engine is opt-in, because resolving the incubating Vector API costs startup
+rem time and makes the JVM print a warning. It is enabled for --load-test runs, and for any run
+rem with PASSWORDGENERATOR_VECTOR=on, e.g. for large --headless batches; PASSWORDGENERATOR_VECTOR=off
+rem disables it for load tests as well.
+rem
+rem Command-line runs (--headless, --load-test) use java.exe, so their output is shown and the
+rem exit code is returned; the GUI uses javaw.exe to start without a console window.
+
+setlocal
+for %%D in ("%~dp0..") do set "DIST=%%~fD"
+set "APP_CLASSPATH=%DIST%\lib\passwordgenerator.jar;%DIST%\lib\passwordgenerator-core.jar;%DIST%\lib\flatlaf.jar"
+
+if /i "%PASSWORDGENERATOR_CDS%"=="record" (
+    del /q "%DIST%\app.jsa" 2>nul
+    "%DIST%\runtime\bin\java.exe" "-XX:ArchiveClassesAtExit=%DIST%\app.jsa" -Djava.awt.headless=true -cp "%APP_CLASSPATH%" com.myfreeit.passwordgenerator.app.App --cds-training
+    exit /b %ERRORLEVEL%
+)
+
+set "SHARE_OPTS="-XX:SharedArchiveFile=%DIST%\app.jsa" -Xshare:auto"
+if /i "%PASSWORDGENERATOR_CDS%"=="off" set "SHARE_OPTS=-Xshare:auto"
+
+set "JAVA_EXE=javaw.exe"
+set "LOAD_TEST="
+for %%A in (%*) do (
+    if /i "%%~A"=="--headless" set "JAVA_EXE=java.exe"
+    if /i "%%~A"=="--load-test" (
+        set "JAVA_EXE=java.exe"
+        set "LOAD_TEST=1"
+    )
+)
+
+set "VECTOR=%PASSWORDGENERATOR_VECTOR%"
+if "%VECTOR%"=="" set "VECTOR=auto"
+if /i "%VECTOR%"=="auto" (
+    set "VECTOR=off"
+    if defined LOAD_TEST set "VECTOR=on"
+)
+set "MODULE_OPTS="
+if /i "%VECTOR%"=="on" set "MODULE_OPTS=--add-modules jdk.incubator.vector"
+
+"%DIST%\runtime\bin\%JAVA_EXE%" %SHARE_OPTS% %MODULE_OPTS% %JAVA_OPTS% -cp "%APP_CLASSPATH%" com.myfreeit.passwordgenerator.app.App %*
+exit /b %ERRORLEVEL%
@@ -0,0 +1,45 @@
+#!/bin/sh
+#
+# Compares startup of the distribution with and without the AppCDS archive.
+#
+#   bin/startup-benchmark.sh [runs]
+#
+# For each mode it reports the average time-to-first-password of a headless launch and,
+# when a display is available, the average time-to-window of a GUI launch. Times are
+# measured by the application itself (see StartupProbe) from the launch timestamp passed
+# by this script, so they include JVM startup. Requires GNU date for millisecond timestamps.
+
+RUNS="${1:-10}"
+DIST="$(cd "$(dirname "$0")/.." && pwd)"
+LAUNCHER="$DIST/bin/passwordgenerator"
+
+# Prints the average of the milestone reported over $RUNS launches.
+measure() {
+    milestone="$1"
+    shift
+    i=0
+    total=0
+    while [ "$i" -lt "$RUNS" ]; do
+        launched=$(date +%s%3N)
+        elapsed=$(JAVA_OPTS="-Dpasswordgenerator.startupProbe=exit -Dpasswordgenerator.launchEpochMillis=$launched" \
+            "$LAUNCHER" "$@" 2>&1 >/dev/null | awk -v m="$milestone" '$1 == "startup" && $2 == m { print $3 }')
+        if [ -z "$elapsed" ]; then
+            echo "n/a"
+            return
+        fi
+        total=$((total + elapsed))
+        i=$((i + 1))
+    done
+    echo "$((total / RUNS)) ms"
+}
+
+printf '%-10s %-26s %-26s\n' "archive" "time-to-first-password" "time-to-window"
+for cds in on off; do
+    first=$(PASSWORDGENERATOR_CDS=$cds measure time-to-first-password --headless --count 1)
+    if [ -n "$DISPLAY" ] || [ -n "$WAYLAND_DISPLAY" ] || [ "$(uname)" = "Darwin" ]; then
+        window=$(PASSWORDGENERATOR_CDS=$cds measure time-to-window)
+    else
+        window="n/a (no display)"
+    fi
+    printf '%-10s %-26s %-26s\n' "$cds" "$first" "$window"
+done
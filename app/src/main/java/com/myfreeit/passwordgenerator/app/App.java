@@ -0,0 +1,163 @@
+package com.myfreeit.passwordgenerator.app;
+
+/*
+ * Copyright (c) 2024, Denis Odesskiy. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of Denis Odesskiy
+ * ("Confidential Information"). You shall not disclose such Confidential Information
+ * and shall use it only in accordance with the terms of the license agreement you
+ * entered into with Denis Odesskiy.
+ */
+
+import com.formdev.flatlaf.FlatDarkLaf;
+import com.formdev.flatlaf.FlatLightLaf;
+import com.myfreeit.passwordgenerator.HeadlessLauncher;
+import com.myfreeit.passwordgenerator.Model;
+import com.myfreeit.passwordgenerator.StartupProbe;
+import com.myfreeit.passwordgenerator.ui.BatchResultsPanel;
+import com.myfreeit.passwordgenerator.ui.EdtWatchdog;
+import com.myfreeit.passwordgenerator.ui.ThemeManager;
+
+import javax.swing.*;
+import java.awt.Color;
+import java.awt.GraphicsEnvironment;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+
+/**
+ * The main application class responsible for launching the password generator.
+ * It sets up the application's look and feel based on the system's theme (dark or light mode),
+ * initializes the {@link Model}, {@link View}, and {@link Controller}, and applies custom UI styles.
+ *
+ * <p>This class uses the FlatLaf library to manage the themes and {@link ThemeManager}
+ * to handle custom styling and theme initialization.</p>
+ *
+ * <p>Upon launching, the app checks for the current system's theme preference (dark or light mode)
+ * and applies the corresponding look and feel. The {@link ThemeManager} is then used to apply
+ * custom styles to the application UI components.</p>
+ *
+ * <p>With {@code --headless} the application generates passwords on the command line through
+ * {@link HeadlessLauncher} without touching Swing. {@code --cds-training} is used by the
+ * {@code dist} build to record an AppCDS archive: it loads the classes of a normal start and
+ * exits without showing a window.</p>
+ *
+ * @author Denis Odesskiy
+ * @since 2024
+ */
+public class App {
+
+    /**
+     * The argument that runs the AppCDS training workload instead of the application.
+     */
+    public static final String CDS_TRAINING_OPTION = "--cds-training";
+
+    /**
+     * The entry point of the application.
+     *
+     * <p>Sets the look and feel of the UI based on system preferences, initializes the MVC components,
+     * and applies custom styles to the UI. If enabled through system properties, the
+     * {@link EdtWatchdog} is installed before any UI code runs.</p>
+     *
+     * @param args command-line arguments: {@code --headless} options or {@code --cds-training}.
+     */
+    public static void main(String[] args) {
+        if (HeadlessLauncher.isHeadless(args)) {
+            System.exit(HeadlessLauncher.run(args, System.out, System.err));
+        }
+        if (Arrays.asList(args).contains(CDS_TRAINING_OPTION)) {
+            Gui.runCdsTraining();
+            return;
+        }
+        Gui.start();
+    }
+
+    /**
+     * Holds all code that touches Swing and FlatLaf, so that a headless launch
+     * never has to load or verify those classes.
+     */
+    private static final class Gui {
+
+        private Gui() {
+        }
+
+        /**
+         * Installs the look and feel and shows the main window.
+         */
+        static void start() {
+            EdtWatchdog.installIfEnabled();
+            SwingUtilities.invokeLater(() -> {
+                try {
+                    boolean isDarkModeEnabled = ThemeManager.checkDarkMode();
+                    if (isDarkModeEnabled) {
+                        UIManager.setLookAndFeel(new FlatDarkLaf());
+                    } else {
+                        UIManager.setLookAndFeel(new FlatLightLaf());
+                    }
+                    ThemeManager.applyCustomStyles();
+                } catch (UnsupportedLookAndFeelException e) {
+                    e.printStackTrace();
+                }
+
+                Model model = new Model();
+                View view = new View();
+                new Controller(model, view);
+
+                ThemeManager.initialize(view);
+                SwingUtilities.updateComponentTreeUI(view);
+                view.addWindowListener(new WindowAdapter() {
+                    @Override
+                    public void windowOpened(WindowEvent e) {
+                        StartupProbe.finish("time-to-window");
+                    }
+                });
+                view.setVisible(true);
+            });
+        }
+
+        /**
+         * Loads the classes used by a normal start so that {@code -XX:ArchiveClassesAtExit} can
+         * archive them. Both themes are installed and the UI is built; the window itself is only
+         * created when a display is available, so the training run also works in headless builds.
+         */
+        static void runCdsTraining() {
+            HeadlessLauncher.run(new String[]{HeadlessLauncher.HEADLESS_OPTION, "--count", "100", "--special"},
+                    new PrintStream(OutputStream.nullOutputStream()), System.err);
+            try {
+                SwingUtilities.invokeAndWait(() -> {
+                    try {
+                        ThemeManager.setLookAndFeel(true);
+                        ThemeManager.setLookAndFeel(false);
+                    } catch (UnsupportedLookAndFeelException e) {
+                        e.printStackTrace();
+                    }
+                    if (GraphicsEnvironment.isHeadless()) {
+                        JPanel panel = new JPanel();
+                        panel.add(new JSpinner(new SpinnerNumberModel(8, 8, 64, 1)));
+                        panel.add(new JSlider());
+                        panel.add(new JCheckBox());
+                        panel.add(new JButton());
+                        panel.add(new JComboBox<>(new String[]{"EN"}));
+                        panel.add(new JScrollPane(new JTextArea()));
+                        panel.add(new BatchResultsPanel());
+                        panel.add(new NotificationAnimation("", Color.BLACK));
+                        SwingUtilities.updateComponentTreeUI(panel);
+                    } else {
+                        View view = new View();
+                        new Controller(new Model(), view);
+                        view.pack();
+                        view.dispose();
+                    }
+                });
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (InvocationTargetException e) {
+                e.getCause().printStackTrace();
+            }
+            System.exit(0);
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.myfreeit.passwordgenerator.app;
+
+/*
+ * Copyright (c) 2024, Denis Odesskiy. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of Denis Odesskiy
+ * ("Confidential Information"). You shall not disclose such Confidential Information
+ * and shall use it only in accordance with the terms of the license agreement you
+ * entered into with Denis Odesskiy.
+ */
+
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.ItemEvent;
+import java.awt.event.ItemListener;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.datatransfer.Clipboard;
+import java.awt.datatransfer.StringSelection;
+import java.security.SecureRandom;
+import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.ResourceBundle;
+import java.util.concurrent.ExecutionException;
+import java.awt.Toolkit;
+import javax.swing.SwingWorker;
+
+import com.myfreeit.passwordgenerator.Model;
+import com.myfreeit.passwordgenerator.RandomSources;
+import com.myfreeit.passwordgenerator.jfr.BatchGenerationEvent;
+import com.myfreeit.passwordgenerator.jfr.FlightRecording;
+import com.myfreeit.passwordgenerator.ui.EdtWatchdog;
+import com.myfreeit.passwordgenerator.ui.UiActionEvent;
+
+
+/**
+ * Controller class in the MVC architecture for the Password Generator application.
+ * It handles user actions and updates the model and view accordingly.
+ * <p>
+ * The Controller listens to user actions, such as button clicks and language selection changes,
+ * and interacts with the {@link Model} to generate passwords and update the {@link View}.
+ * </p>
+ *
+ * <p><b>Author:</b> Denis Odesskiy</p>
+ * <p><b>Since:</b> 2024</p>
+ */
+public class Controller {
+    private final Model model;
+    private final View view;
+
+    /**
+     * Constructs a new Controller.
+     *
+     * @param model the Model instance for generating passwords
+     * @param view  the View instance for interacting with the user
+     */
+    public Controller(Model model, View view) {
+        this.model = model;
+        this.view = view;
+        this.view.addGenerateButtonListener(EdtWatchdog.instrumentAction("Controller.generate", new GenerateButtonListener()));
+        this.view.addResultAreaMouseListener(EdtWatchdog.instrumentMouse("Controller.copyResult", new ResultAreaMouseListener()));
+        this.view.addLanguageChangeListener(EdtWatchdog.instrumentItem("Controller.changeLanguage", new LanguageChangeListener()));
+    }
+
+    /**
+     * Runs a user action, recording it as a {@link UiActionEvent} while Flight Recorder is running.
+     * The event class is not touched otherwise, so the GUI does not load {@code jdk.jfr} at startup.
+     *
+     * @param action The action name.
+     * @param body   The code handling the action.
+     */
+    private static void recordAction(String action, Runnable body) {
+        if (FlightRecording.isRecording()) {
+            UiActionEvent.record(action, body);
+        } else {
+            body.run();
+        }
+    }
+
+    /**
+     * ActionListener class for handling the password generation button click.
+     */
+    class GenerateButtonListener implements ActionListener {
+        /**
+         * Invoked when the generate button is clicked. It retrieves user input,
+         * generates a password using the {@link Model}, and updates the {@link View}.
+         *
+         * @param e the action event triggered by the button click
+         */
+        @Override
+        public void actionPerformed(ActionEvent e) {
+            recordAction("generate", this::generate);
+        }
+
+        private void generate() {
+            int count = view.getPasswordCount();
+            if (count > 1) {
+                new BatchGenerationWorker(view.getPasswordLength(), view.isUseSpecialChars(), count).execute();
+                return;
+            }
+            try {
+                int length = view.getPasswordLength();
+                boolean useSpecialChars = view.isUseSpecialChars();
+                String password = model.generatePassword(length, useSpecialChars);
+                view.setGeneratedPassword(password);
+                view.showSuccess(view.getBundle().getString("message.success"));
+            } catch (Exception ex) {
+                view.showError(String.format("%s: %s", view.getBundle().getString("message.unexpected"), ex.getMessage()));
+            }
+            view.requestFocusOnLengthField();
+        }
+    }
+
+    /**
+     * SwingWorker that generates a batch of passwords off the event dispatch thread.
+     *
+     * <p>Passwords are packed back to back into blocks which are handed to the {@link View}
+     * as they fill up, so the list grows while generation is still running and the UI
+     * stays responsive even for a million passwords.</p>
+     */
+    class BatchGenerationWorker extends SwingWorker<Integer, char[]> {
+        private static final int BLOCK_SIZE = 4096;
+
+        private final int length;
+        private final boolean useSpecialChars;
+        private final int count;
+
+        /**
+         * Creates a worker for one batch.
+         *
+         * @param length          the length of each password
+         * @param useSpecialChars whether to include special characters
+         * @param count           the number of passwords to generate
+         */
+        BatchGenerationWorker(int length, boolean useSpecialChars, int count) {
+            this.length = length;
+            this.useSpecialChars = useSpecialChars;
+            this.count = count;
+            view.setGenerateEnabled(false);
+            view.startBatch(length);
+        }
+
+        @Override
+        protected Integer doInBackground() {
+            SecureRandom random = RandomSources.create("Controller");
+            BatchGenerationEvent event = FlightRecording.isRecording() ? new BatchGenerationEvent() : null;
+            long rejectedBefore = 0;
+            if (event != null) {
+                rejectedBefore = event.isEnabled() ? model.getRejectedDraws() : 0;
+                event.begin();
+            }
+            int generated = 0;
+            while (generated < count) {
+                int rows = Math.min(BLOCK_SIZE, count - generated);
+                char[] block = new char[rows * length];
+                for (int row = 0; row < rows; row++) {
+                    char[] password = model.generatePassword(length, useSpecialChars, random);
+                    System.arraycopy(password, 0, block, row * length, length);
+                    Arrays.fill(password, '\0');
+                    RandomSources.reseedIfDue(random, generated + row + 1, "Controller");
+                }
+                publish(block);
+                generated += rows;
+            }
+            if (event != null) {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.source = "ui";
+                    event.count = generated;
+                    event.length = length;
+                    event.specialCharacters = useSpecialChars;
+                    event.policy = model.getPolicy();
+                    event.rejectedDraws = model.getRejectedDraws() - rejectedBefore;
+                    event.commit();
+                }
+            }
+            return generated;
+        }
+
+        @Override
+        protected void process(List<char[]> blocks) {
+            for (char[] block : blocks) {
+                view.appendGeneratedPasswords(block, block.length / length);
+                Arrays.fill(block, '\0');
+            }
+        }
+
+        @Override
+        protected void done() {
+            view.setGenerateEnabled(true);
+            try {
+                int generated = get();
+                view.showSuccess(MessageFormat.format(view.getBundle().getString("message.batchSuccess"), generated));
+            } catch (ExecutionException ex) {
+                view.showError(String.format("%s: %s", view.getBundle().getString("message.unexpected"), ex.getCause().getMessage()));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            view.requestFocusOnLengthField();
+        }
+    }
+
+    /**
+     * MouseAdapter class for handling mouse clicks on the result area.
+     * Copies the generated password, or the selected rows of a batch, to the clipboard when clicked.
+     */
+    class ResultAreaMouseListener extends MouseAdapter {
+        /**
+         * Invoked when the result area is clicked. Copies the text to the clipboard
+         * and shows a notification in the view.
+         *
+         * @param e the mouse event triggered by the click
+         */
+        @Override
+        public void mouseClicked(MouseEvent e) {
+            recordAction("copyResult", this::copyResult);
+        }
+
+        private void copyResult() {
+            String resultText = view.getSelectedResultText();
+            if (resultText != null && !resultText.isBlank()) {
+                copyToClipboard(resultText);
+                view.showCopyBorderAnimation();
+                view.showNotification(view.getBundle().getString(view.isBatchMode()
+                        ? "message.selectionCopied" : "message.copiedToClipboard"));
+            }
+            view.requestFocusOnLengthField();
+        }
+
+        /**
+         * Copies the provided text to the system clipboard.
+         *
+         * @param text the text to be copied to the clipboard
+         */
+        private void copyToClipboard(String text) {
+            if (text != null && !text.isEmpty()) {
+                Clipboard clipboard = Toolkit.getDefaultToolkit().getSystemClipboard();
+                StringSelection selection = new StringSelection(text);
+                clipboard.setContents(selection, null);
+            }
+        }
+    }
+
+    /**
+     * ItemListener class for handling changes in language selection.
+     * Updates the view with the selected language's locale.
+     */
+    class LanguageChangeListener implements ItemListener {
+        /**
+         * Invoked when the language selection is changed. Updates the view's locale
+         * and reloads the UI texts.
+         *
+         * @param e the item event triggered by the language selection
+         */
+        @Override
+        public void itemStateChanged(ItemEvent e) {
+            if (e.getStateChange() == ItemEvent.SELECTED) {
+                recordAction("changeLanguage", () -> {
+                    Locale locale = view.getSelectedLocale();
+                    view.setBundle(ResourceBundle.getBundle("i18n/messages", locale));
+                    view.updateUITexts();
+                });
+            }
+        }
+    }
+}
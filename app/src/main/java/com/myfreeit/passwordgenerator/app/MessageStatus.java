@@ -1,4 +1,4 @@
-package com.myfreeit.passwordgenerator;
+package com.myfreeit.passwordgenerator.app;
 
 /*
  * Copyright (c) 2024, Denis Odesskiy. All rights reserved.
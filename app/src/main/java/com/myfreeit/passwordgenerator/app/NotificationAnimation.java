@@ -1,4 +1,4 @@
-package com.myfreeit.passwordgenerator;
+package com.myfreeit.passwordgenerator.app;
 
 /*
  * Copyright (c) 2024, Denis Odesskiy. All rights reserved.
@@ -9,6 +9,8 @@ package com.myfreeit.passwordgenerator;
  * entered into with Denis Odesskiy.
  */
 
+import com.myfreeit.passwordgenerator.ui.EdtWatchdog;
+
 import javax.swing.*;
 import java.awt.*;
 
@@ -53,7 +55,7 @@ public class NotificationAnimation extends JPanel {
         add(notificationLabel);
 
         // Initializes the timer that drives the animation.
-        animationTimer = new Timer(80, e -> animateNotification());
+        animationTimer = new Timer(80, EdtWatchdog.instrumentAction("NotificationAnimation.animate", e -> animateNotification()));
     }
 
     /**
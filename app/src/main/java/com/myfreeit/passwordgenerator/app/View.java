@@ -1,4 +1,4 @@
-package com.myfreeit.passwordgenerator;
+package com.myfreeit.passwordgenerator.app;
 
 /*
  * Copyright (c) 2024, Denis Odesskiy. All rights reserved.
@@ -9,6 +9,9 @@ package com.myfreeit.passwordgenerator;
  * entered into with Denis Odesskiy.
  */
 
+import com.myfreeit.passwordgenerator.ui.BatchResultsPanel;
+import com.myfreeit.passwordgenerator.ui.EdtWatchdog;
+
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionListener;
@@ -39,11 +42,19 @@ public class View extends JFrame {
     private final JSlider lengthSlider;
     private final JCheckBox specialCharsCheckbox;
     private final JButton generateButton;
+    private final JSpinner countSpinner;
     private final JTextArea resultArea;
+    private final BatchResultsPanel batchResults;
+    private final JPanel resultCards;
     private final JLabel messageLabel;
     private final JLabel passwordLengthLabel;
+    private final JLabel passwordCountLabel;
     private static final int MIN_PASSWORD_LENGTH = 8;
     private static final int MAX_PASSWORD_LENGTH = 64;
+    private static final int MAX_PASSWORD_COUNT = 1_000_000;
+    private static final String SINGLE_RESULT_CARD = "single";
+    private static final String BATCH_RESULT_CARD = "batch";
+    private boolean batchMode;
     private String lengthLabelText;
     private final JComboBox<String> box = new JComboBox<>(new String[]{"EN", "RU"});
 
@@ -65,7 +76,7 @@ public class View extends JFrame {
         bundle = ResourceBundle.getBundle("i18n/messages", Locale.ENGLISH);
 
         setTitle(bundle.getString("app.title"));
-        setSize(360, 320);
+        setSize(360, 360);
         setResizable(false);
         setDefaultCloseOperation(WindowConstants.EXIT_ON_CLOSE);
         setLocationRelativeTo(null);
@@ -81,13 +92,21 @@ public class View extends JFrame {
         lengthLabelText = bundle.getString("label.length");
         lengthLabelText = MessageFormat.format(lengthLabelText, MIN_PASSWORD_LENGTH, MAX_PASSWORD_LENGTH);
         passwordLengthLabel = new JLabel(lengthLabelText);
+        passwordCountLabel = new JLabel(MessageFormat.format(bundle.getString("label.count"), MAX_PASSWORD_COUNT));
+        countSpinner = new JSpinner(new SpinnerNumberModel(1, 1, MAX_PASSWORD_COUNT, 1)); // Spinner for batch size
         specialCharsCheckbox = new JCheckBox(bundle.getString("label.specialChars"));
         generateButton = new JButton(bundle.getString("button.generate"));
         generateButton.setPreferredSize(new Dimension(140, 40));
+        generateButton.setName("generateButton");
         resultArea = new JTextArea();
         resultArea.setEditable(false);
         resultArea.setLineWrap(true);
         resultArea.setWrapStyleWord(true);
+        resultArea.setName("resultArea");
+        batchResults = new BatchResultsPanel();
+        resultCards = new JPanel(new CardLayout());
+        resultCards.add(new JScrollPane(resultArea), SINGLE_RESULT_CARD);
+        resultCards.add(batchResults, BATCH_RESULT_CARD);
         messageLabel = new JLabel();
 
         // Sync slider and spinner values.
@@ -138,24 +157,38 @@ public class View extends JFrame {
         gbc.fill = GridBagConstraints.HORIZONTAL;
         panel.add(lengthSlider, gbc);
 
-        // Add special characters checkbox.
+        // Add password count label and spinner.
         gbc.gridx = 0;
         gbc.gridy = 3;
+        gbc.gridwidth = 1;
+        gbc.fill = GridBagConstraints.NONE;
+        gbc.anchor = GridBagConstraints.WEST;
+        panel.add(passwordCountLabel, gbc);
+
+        gbc.gridx = 1;
+        gbc.gridy = 3;
+        gbc.anchor = GridBagConstraints.EAST;
+        countSpinner.setPreferredSize(new Dimension(90, box.getPreferredSize().height));
+        panel.add(countSpinner, gbc);
+
+        // Add special characters checkbox.
+        gbc.gridx = 0;
+        gbc.gridy = 4;
         gbc.gridwidth = 2;
         gbc.fill = GridBagConstraints.HORIZONTAL;
         panel.add(specialCharsCheckbox, gbc);
 
         // Add generate button.
         gbc.gridx = 0;
-        gbc.gridy = 4;
+        gbc.gridy = 5;
         gbc.gridwidth = 2;
         gbc.fill = GridBagConstraints.NONE;
         gbc.anchor = GridBagConstraints.CENTER;
         panel.add(generateButton, gbc);
 
-        // Add result area (scrollable).
+        // Add result area (scrollable), switching to the batch list for more than one password.
         add(panel, BorderLayout.NORTH);
-        add(new JScrollPane(resultArea), BorderLayout.CENTER);
+        add(resultCards, BorderLayout.CENTER);
         add(messageLabel, BorderLayout.SOUTH);
 
         box.setSelectedIndex(0); // Default language is English.
@@ -171,12 +204,13 @@ public class View extends JFrame {
     }
 
     /**
-     * Adds a MouseAdapter to the result area to handle mouse events.
+     * Adds a MouseAdapter to the result area and the batch results list to handle mouse events.
      *
      * @param listener The MouseAdapter to be added.
      */
     public void addResultAreaMouseListener(MouseAdapter listener) {
         resultArea.addMouseListener(listener);
+        batchResults.addListMouseListener(listener);
     }
 
     /**
@@ -206,6 +240,24 @@ public class View extends JFrame {
         return resultArea.getText();
     }
 
+    /**
+     * Gets the result the user can copy: the generated password, or the selected rows of a batch.
+     *
+     * @return The copyable result text.
+     */
+    public String getSelectedResultText() {
+        return batchMode ? batchResults.getSelectedText() : resultArea.getText();
+    }
+
+    /**
+     * Checks whether the batch results list is currently shown instead of the result area.
+     *
+     * @return true if a batch of passwords is displayed.
+     */
+    public boolean isBatchMode() {
+        return batchMode;
+    }
+
     /**
      * Sets the current resource bundle to update the UI texts.
      *
@@ -233,6 +285,15 @@ public class View extends JFrame {
         return (int) lengthSpinner.getValue();
     }
 
+    /**
+     * Gets the number of passwords to generate from the spinner.
+     *
+     * @return The number of passwords as an integer.
+     */
+    public int getPasswordCount() {
+        return (int) countSpinner.getValue();
+    }
+
     /**
      * Checks if the user has selected to use special characters in the password.
      *
@@ -248,10 +309,46 @@ public class View extends JFrame {
      * @param password The generated password.
      */
     public void setGeneratedPassword(String password) {
+        showResultCard(false);
         resultArea.setText(password);
         messageLabel.setText("");
     }
 
+    /**
+     * Clears the batch results list and shows it in place of the result area.
+     *
+     * @param passwordLength The length of every password in the batch.
+     */
+    public void startBatch(int passwordLength) {
+        batchResults.startBatch(passwordLength);
+        showResultCard(true);
+        messageLabel.setText("");
+    }
+
+    /**
+     * Appends a block of generated passwords, stored back to back, to the batch results list.
+     *
+     * @param block The packed passwords.
+     * @param count The number of passwords in the block.
+     */
+    public void appendGeneratedPasswords(char[] block, int count) {
+        batchResults.append(block, count);
+    }
+
+    /**
+     * Enables or disables the "Generate" button, e.g. while a batch is being generated.
+     *
+     * @param enabled true to enable the button.
+     */
+    public void setGenerateEnabled(boolean enabled) {
+        generateButton.setEnabled(enabled);
+    }
+
+    private void showResultCard(boolean batch) {
+        batchMode = batch;
+        ((CardLayout) resultCards.getLayout()).show(resultCards, batch ? BATCH_RESULT_CARD : SINGLE_RESULT_CARD);
+    }
+
     /**
      * Updates all UI texts according to the currently selected language.
      */
@@ -263,6 +360,7 @@ public class View extends JFrame {
             lengthLabelText = bundle.getString("label.length");
             lengthLabelText = MessageFormat.format(lengthLabelText, MIN_PASSWORD_LENGTH, MAX_PASSWORD_LENGTH);
             passwordLengthLabel.setText(lengthLabelText);
+            passwordCountLabel.setText(MessageFormat.format(bundle.getString("label.count"), MAX_PASSWORD_COUNT));
 
             generateButton.setText(bundle.getString("button.generate"));
             messageLabel.setText("");
@@ -275,9 +373,10 @@ public class View extends JFrame {
      * Triggers a visual animation on the result area when the user copies the password to the clipboard.
      */
     public void showCopyBorderAnimation() {
-        resultArea.setBorder(BorderFactory.createLineBorder(new Color(100, 180, 250), 2));
+        JComponent target = batchMode ? batchResults.getListComponent() : resultArea;
+        target.setBorder(BorderFactory.createLineBorder(new Color(100, 180, 250), 2));
         Timer borderAnimationTimer = new Timer(300, e1 -> {
-            resultArea.setBorder(BorderFactory.createEmptyBorder());
+            target.setBorder(BorderFactory.createEmptyBorder());
             ((Timer) e1.getSource()).stop();
         });
         borderAnimationTimer.start();
@@ -324,11 +423,13 @@ public class View extends JFrame {
      * @param status  The status of the message (error, notification, success).
      */
     private void showMessage(String message, MessageStatus status) {
-        Color messageColor = getMessageColor(status);
-        messageLabel.setForeground(messageColor);
-        messageLabel.setText(message);
-        // Trigger notification animation
-        showNotification(message, messageColor);
+        EdtWatchdog.measure("View.showMessage", () -> {
+            Color messageColor = getMessageColor(status);
+            messageLabel.setForeground(messageColor);
+            messageLabel.setText(message);
+            // Trigger notification animation
+            showNotification(message, messageColor);
+        });
     }
 
     /**
@@ -346,16 +447,20 @@ public class View extends JFrame {
     }
 
     /**
-     * Shows a custom notification animation in the result area.
+     * Shows a custom notification animation centered over the results.
+     *
+     * <p>The notification lives on the frame's layered pane rather than inside the result
+     * component, so it neither invalidates the result text nor the batch results list.</p>
      *
      * @param message      The message to display.
      * @param messageColor The color of the message.
      */
     private void showNotification(String message, Color messageColor) {
         NotificationAnimation notification = new NotificationAnimation(message, messageColor);
-        resultArea.setLayout(null);
-        resultArea.add(notification);
-        notification.setBounds((resultArea.getWidth() - 360) / 2, (resultArea.getHeight() - 300) / 2, 360, 320);
+        JLayeredPane layeredPane = getLayeredPane();
+        Rectangle results = SwingUtilities.convertRectangle(resultCards.getParent(), resultCards.getBounds(), layeredPane);
+        layeredPane.add(notification, JLayeredPane.POPUP_LAYER);
+        notification.setBounds(results.x + (results.width - 360) / 2, results.y + (results.height - 300) / 2, 360, 320);
         notification.startAnimation();
     }
 }
@@ -0,0 +1,134 @@
+package com.myfreeit.passwordgenerator.ui;
+
+/*
+ * Copyright (c) 2024, Denis Odesskiy. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of Denis Odesskiy
+ * ("Confidential Information"). You shall not disclose such Confidential Information
+ * and shall use it only in accordance with the terms of the license agreement you
+ * entered into with Denis Odesskiy.
+ */
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.datatransfer.StringSelection;
+import java.awt.datatransfer.Transferable;
+import java.awt.event.MouseListener;
+
+/**
+ * A scrollable list that displays a batch of generated passwords, one per row.
+ *
+ * <p>The list is backed by a {@link PasswordListModel} and uses a fixed cell size derived
+ * from a prototype value, so Swing neither measures every row nor creates row strings that
+ * are not on screen. Scrolling through a million rows therefore costs the same as scrolling
+ * through ten.</p>
+ *
+ * <p>Selected rows can be copied with the platform copy shortcut; {@link #getSelectedText()}
+ * provides the same text for other copy actions.</p>
+ *
+ * @author Denis Odesskiy
+ * @since 2024
+ */
+public class BatchResultsPanel extends JScrollPane {
+    private final PasswordListModel model = new PasswordListModel();
+    private final JList<String> list = new JList<>(model);
+
+    /**
+     * Creates an empty batch results panel.
+     */
+    public BatchResultsPanel() {
+        list.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 13));
+        list.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
+        list.setTransferHandler(new SelectionTransferHandler());
+        setViewportView(list);
+    }
+
+    /**
+     * Clears the panel and prepares it for a batch of passwords of the given length.
+     *
+     * @param passwordLength The length of every password in the batch.
+     */
+    public void startBatch(int passwordLength) {
+        list.clearSelection();
+        model.reset(passwordLength);
+        list.setPrototypeCellValue("W".repeat(passwordLength));
+        getVerticalScrollBar().setUnitIncrement(list.getFixedCellHeight());
+        getViewport().setViewPosition(new Point(0, 0));
+    }
+
+    /**
+     * Appends a block of passwords stored back to back.
+     *
+     * @param block The packed passwords.
+     * @param count The number of passwords in the block.
+     */
+    public void append(char[] block, int count) {
+        model.append(block, count);
+    }
+
+    /**
+     * Returns the number of passwords in the panel.
+     *
+     * @return The number of rows.
+     */
+    public int getPasswordCount() {
+        return model.getSize();
+    }
+
+    /**
+     * Returns the selected passwords, one per line.
+     *
+     * @return The selected passwords, or an empty string if nothing is selected.
+     */
+    public String getSelectedText() {
+        ListSelectionModel selection = list.getSelectionModel();
+        if (selection.isSelectionEmpty()) {
+            return "";
+        }
+        StringBuilder text = new StringBuilder();
+        for (int i = selection.getMinSelectionIndex(); i <= selection.getMaxSelectionIndex(); i++) {
+            if (selection.isSelectedIndex(i)) {
+                if (text.length() > 0) {
+                    text.append(System.lineSeparator());
+                }
+                model.appendTo(i, text);
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * Adds a mouse listener to the list of passwords.
+     *
+     * @param listener The listener to be added.
+     */
+    public void addListMouseListener(MouseListener listener) {
+        list.addMouseListener(listener);
+    }
+
+    /**
+     * Returns the component that displays the passwords.
+     *
+     * @return The list component.
+     */
+    public JComponent getListComponent() {
+        return list;
+    }
+
+    /**
+     * Exports the selected rows straight from the packed model instead of materializing
+     * a {@code List<String>} of the selection as the default list transfer handler does.
+     */
+    private class SelectionTransferHandler extends TransferHandler {
+        @Override
+        public int getSourceActions(JComponent c) {
+            return COPY;
+        }
+
+        @Override
+        protected Transferable createTransferable(JComponent c) {
+            String text = getSelectedText();
+            return text.isEmpty() ? null : new StringSelection(text);
+        }
+    }
+}
@@ -0,0 +1,393 @@
+package com.myfreeit.passwordgenerator.ui;
+
+/*
+ * Copyright (c) 2024, Denis Odesskiy. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of Denis Odesskiy
+ * ("Confidential Information"). You shall not disclose such Confidential Information
+ * and shall use it only in accordance with the terms of the license agreement you
+ * entered into with Denis Odesskiy.
+ */
+
+import com.myfreeit.passwordgenerator.metrics.LatencyHistogram;
+
+import java.awt.*;
+import java.awt.event.ActionListener;
+import java.awt.event.ItemListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * An opt-in watchdog that measures how long the Swing event dispatch thread is blocked.
+ *
+ * <p>When installed, the watchdog is pushed onto the system {@link EventQueue} and times every
+ * dispatched event. A monitor thread samples the event currently being dispatched; as soon as
+ * one has been running longer than the threshold, the EDT's stack trace is captured while it
+ * is still blocked and logged together with the event. Every event's latency is recorded in a
+ * {@link LatencyHistogram} keyed by event type and source, and listeners wrapped with the
+ * {@code instrument*} methods or code run through {@link #measure(String, Runnable)} get
+ * histograms of their own.</p>
+ *
+ * <p>The watchdog is enabled with {@code -Dpasswordgenerator.edtWatchdog=true}; the threshold
+ * defaults to 100 ms and can be changed with {@code -Dpasswordgenerator.edtWatchdog.thresholdMs}.
+ * A latency summary is printed to standard error when the application exits. While the watchdog is not installed,
+ * the instrumentation methods return their arguments unchanged.</p>
+ *
+ * @author Denis Odesskiy
+ * @since 2024
+ */
+public final class EdtWatchdog extends EventQueue {
+
+    /**
+     * System property that enables the watchdog.
+     */
+    public static final String ENABLED_PROPERTY = "passwordgenerator.edtWatchdog";
+
+    /**
+     * System property with the stall threshold in milliseconds.
+     */
+    public static final String THRESHOLD_PROPERTY = "passwordgenerator.edtWatchdog.thresholdMs";
+
+    private static final long DEFAULT_THRESHOLD_MILLIS = 100;
+    private static final Logger LOGGER = Logger.getLogger(EdtWatchdog.class.getName());
+    private static volatile EdtWatchdog installed;
+
+    private final long thresholdNanos;
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private volatile Thread dispatchThread;
+    private volatile AWTEvent currentEvent;
+    /**
+     * When the current event's dispatch would have started had it never been paused, or 0 while
+     * it is paused; this is what the monitor compares against the threshold.
+     */
+    private volatile long currentStart;
+    private volatile long reportedStart;
+    /**
+     * Time the current event has spent in its own code so far, up to {@link #currentResumed}.
+     * Only accessed on the EDT.
+     */
+    private long currentElapsed;
+    /**
+     * When the current event last resumed running its own code, or 0 while it is paused in a
+     * nested event loop. Only accessed on the EDT.
+     */
+    private long currentResumed;
+    /**
+     * Whether the monitor has already reported the current event as stalled. Only accessed on the EDT.
+     */
+    private boolean currentReported;
+
+    private EdtWatchdog(long thresholdMillis) {
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+    }
+
+    /**
+     * Installs the watchdog if it has been enabled through {@link #ENABLED_PROPERTY}.
+     */
+    public static void installIfEnabled() {
+        if (Boolean.getBoolean(ENABLED_PROPERTY)) {
+            install(Long.getLong(THRESHOLD_PROPERTY, DEFAULT_THRESHOLD_MILLIS));
+        }
+    }
+
+    /**
+     * Installs the watchdog on the system event queue unless it is already installed.
+     *
+     * @param thresholdMillis The dispatch time above which an event is reported as a stall.
+     * @return The installed watchdog.
+     */
+    public static synchronized EdtWatchdog install(long thresholdMillis) {
+        if (installed == null) {
+            EdtWatchdog watchdog = new EdtWatchdog(thresholdMillis);
+            Toolkit.getDefaultToolkit().getSystemEventQueue().push(watchdog);
+            Thread monitor = new Thread(watchdog::monitor, "edt-watchdog");
+            monitor.setDaemon(true);
+            monitor.start();
+            // Printed directly because the logging framework may already be shut down by its own hook.
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> System.err.println(watchdog.summary()), "edt-watchdog-summary"));
+            installed = watchdog;
+        }
+        return installed;
+    }
+
+    /**
+     * Returns the installed watchdog.
+     *
+     * @return The watchdog, or {@code null} if it has not been installed.
+     */
+    public static EdtWatchdog getInstalled() {
+        return installed;
+    }
+
+    /**
+     * Runs the action and records its duration under the given name if the watchdog is installed.
+     *
+     * @param name   The histogram name.
+     * @param action The code to run.
+     */
+    public static void measure(String name, Runnable action) {
+        EdtWatchdog watchdog = installed;
+        if (watchdog == null) {
+            action.run();
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            action.run();
+        } finally {
+            watchdog.histogram(name).record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Wraps an action listener so that each invocation is recorded under the given name.
+     *
+     * @param name     The histogram name.
+     * @param listener The listener to wrap.
+     * @return The wrapped listener, or the listener itself if the watchdog is not installed.
+     */
+    public static ActionListener instrumentAction(String name, ActionListener listener) {
+        if (installed == null) {
+            return listener;
+        }
+        return e -> measure(name, () -> listener.actionPerformed(e));
+    }
+
+    /**
+     * Wraps an item listener so that each invocation is recorded under the given name.
+     *
+     * @param name     The histogram name.
+     * @param listener The listener to wrap.
+     * @return The wrapped listener, or the listener itself if the watchdog is not installed.
+     */
+    public static ItemListener instrumentItem(String name, ItemListener listener) {
+        if (installed == null) {
+            return listener;
+        }
+        return e -> measure(name, () -> listener.itemStateChanged(e));
+    }
+
+    /**
+     * Wraps a mouse adapter so that each invocation is recorded under the given name.
+     *
+     * @param name     The histogram name.
+     * @param listener The listener to wrap.
+     * @return The wrapped listener, or the listener itself if the watchdog is not installed.
+     */
+    public static MouseAdapter instrumentMouse(String name, MouseAdapter listener) {
+        if (installed == null) {
+            return listener;
+        }
+        return new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                measure(name, () -> listener.mouseClicked(e));
+            }
+
+            @Override
+            public void mousePressed(MouseEvent e) {
+                measure(name, () -> listener.mousePressed(e));
+            }
+
+            @Override
+            public void mouseReleased(MouseEvent e) {
+                measure(name, () -> listener.mouseReleased(e));
+            }
+
+            @Override
+            public void mouseEntered(MouseEvent e) {
+                measure(name, () -> listener.mouseEntered(e));
+            }
+
+            @Override
+            public void mouseExited(MouseEvent e) {
+                measure(name, () -> listener.mouseExited(e));
+            }
+
+            @Override
+            public void mouseWheelMoved(MouseWheelEvent e) {
+                measure(name, () -> listener.mouseWheelMoved(e));
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                measure(name, () -> listener.mouseDragged(e));
+            }
+
+            @Override
+            public void mouseMoved(MouseEvent e) {
+                measure(name, () -> listener.mouseMoved(e));
+            }
+        };
+    }
+
+    /**
+     * Returns a snapshot of all latency histograms, sorted by name.
+     *
+     * @return The histograms keyed by event type and source or by instrumented name.
+     */
+    public Map<String, LatencyHistogram> getHistograms() {
+        return new TreeMap<>(histograms);
+    }
+
+    /**
+     * Formats count, mean and percentiles of every histogram, one line per name.
+     *
+     * @return The summary text.
+     */
+    public String summary() {
+        StringBuilder text = new StringBuilder("EDT latency summary (ms):");
+        getHistograms().forEach((name, histogram) -> text.append(String.format(
+                "%n  %-60s count=%d mean=%.2f p50=%.2f p99=%.2f max=%.2f", name, histogram.getTotalCount(),
+                histogram.getMean() / 1e6, histogram.getValueAtPercentile(50) / 1e6,
+                histogram.getValueAtPercentile(99) / 1e6, histogram.getMaxValue() / 1e6)));
+        return text.toString();
+    }
+
+    /**
+     * Dispatches the event and records how long it took.
+     *
+     * <p>Events can be dispatched re-entrantly, e.g. while a modal dialog runs a nested event loop
+     * inside a listener. The outer event is paused for as long as the nested loop waits for or
+     * dispatches events, so the time a dialog stays open is not reported as a stall.</p>
+     *
+     * @param event The event to dispatch.
+     */
+    @Override
+    protected void dispatchEvent(AWTEvent event) {
+        AWTEvent outerEvent = currentEvent;
+        pauseCurrent();
+        long outerElapsed = currentElapsed;
+        boolean outerReported = currentReported;
+        long start = System.nanoTime();
+        dispatchThread = Thread.currentThread();
+        currentEvent = event;
+        currentElapsed = 0;
+        currentReported = false;
+        currentResumed = start;
+        currentStart = start;
+        long elapsed;
+        try {
+            super.dispatchEvent(event);
+        } finally {
+            pauseCurrent();
+            elapsed = currentElapsed;
+            boolean reported = currentReported;
+            currentEvent = outerEvent;
+            currentElapsed = outerElapsed;
+            currentReported = outerReported;
+            resumeCurrent();
+            histogram(keyOf(event)).record(elapsed);
+            if (elapsed > thresholdNanos && !reported && LOGGER.isLoggable(Level.WARNING)) {
+                LOGGER.warning(String.format("EDT blocked for %.1f ms by %s", elapsed / 1e6, describe(event)));
+            }
+        }
+    }
+
+    /**
+     * Returns the next event. When called from a nested event loop, the event being dispatched
+     * is paused while the loop waits.
+     *
+     * @return The next event.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    @Override
+    public AWTEvent getNextEvent() throws InterruptedException {
+        if (currentEvent == null || Thread.currentThread() != dispatchThread) {
+            return super.getNextEvent();
+        }
+        pauseCurrent();
+        try {
+            return super.getNextEvent();
+        } finally {
+            resumeCurrent();
+        }
+    }
+
+    /**
+     * Stops the clock of the event being dispatched, if any. Must be called on the EDT.
+     */
+    private void pauseCurrent() {
+        if (currentEvent != null && currentResumed != 0) {
+            currentElapsed += System.nanoTime() - currentResumed;
+            currentResumed = 0;
+            currentReported |= currentStart == reportedStart;
+            currentStart = 0;
+        }
+    }
+
+    /**
+     * Restarts the clock of the event being dispatched, if any. Must be called on the EDT.
+     */
+    private void resumeCurrent() {
+        if (currentEvent != null && currentResumed == 0) {
+            currentResumed = System.nanoTime();
+            // Start the clock as far back as the own time already spent, so the monitor sees it too.
+            long start = currentResumed - currentElapsed;
+            if (currentReported) {
+                reportedStart = start;
+            }
+            currentStart = start;
+        }
+    }
+
+    /**
+     * Samples the event being dispatched and reports it, with the EDT's stack, once it exceeds the threshold.
+     */
+    private void monitor() {
+        long interval = Math.max(TimeUnit.MILLISECONDS.toNanos(5), thresholdNanos / 4);
+        while (true) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(interval);
+            } catch (InterruptedException e) {
+                return;
+            }
+            long start = currentStart;
+            AWTEvent event = currentEvent;
+            Thread thread = dispatchThread;
+            if (start == 0 || event == null || thread == null || start == reportedStart
+                    || System.nanoTime() - start <= thresholdNanos) {
+                continue;
+            }
+            StackTraceElement[] stack = thread.getStackTrace();
+            if (currentStart != start) {
+                continue;   // The event finished while the stack was being captured.
+            }
+            reportedStart = start;
+            StringBuilder text = new StringBuilder(String.format("EDT stalled for more than %d ms by %s; EDT stack:",
+                    TimeUnit.NANOSECONDS.toMillis(thresholdNanos), describe(event)));
+            for (StackTraceElement element : stack) {
+                text.append(System.lineSeparator()).append("\tat ").append(element);
+            }
+            LOGGER.warning(text.toString());
+        }
+    }
+
+    private LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, key -> new LatencyHistogram());
+    }
+
+    private static String keyOf(AWTEvent event) {
+        Object source = event.getSource();
+        String sourceName = source instanceof Component && ((Component) source).getName() != null
+                ? ((Component) source).getName()
+                : source == null ? "null" : nameOf(source.getClass());
+        return nameOf(event.getClass()) + " from " + sourceName;
+    }
+
+    private static String nameOf(Class<?> type) {
+        String simpleName = type.getSimpleName();
+        return simpleName.isEmpty() ? type.getName() : simpleName;
+    }
+
+    private static String describe(AWTEvent event) {
+        return event.getClass().getName() + "[" + event.paramString() + "] from " + keyOf(event);
+    }
+}
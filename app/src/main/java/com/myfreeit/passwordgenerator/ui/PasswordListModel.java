@@ -0,0 +1,114 @@
+package com.myfreeit.passwordgenerator.ui;
+
+/*
+ * Copyright (c) 2024, Denis Odesskiy. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of Denis Odesskiy
+ * ("Confidential Information"). You shall not disclose such Confidential Information
+ * and shall use it only in accordance with the terms of the license agreement you
+ * entered into with Denis Odesskiy.
+ */
+
+import javax.swing.*;
+import java.util.Arrays;
+
+/**
+ * A {@link ListModel} over a batch of generated passwords of equal length.
+ *
+ * <p>Passwords are packed back to back into fixed-size {@code char[]} chunks instead of being
+ * kept as one {@link String} per row, so a million rows cost little more than the characters
+ * themselves. A row's {@code String} is only created when the list asks for it, which for a
+ * {@link JList} with a fixed cell height means only for the rows currently on screen.</p>
+ *
+ * <p>Like all Swing models, this class must only be used on the event dispatch thread.</p>
+ *
+ * @author Denis Odesskiy
+ * @since 2024
+ */
+public class PasswordListModel extends AbstractListModel<String> {
+    private static final int ROWS_PER_CHUNK = 4096;
+
+    private char[][] chunks = new char[0][];
+    private int passwordLength;
+    private int size;
+
+    /**
+     * Removes all passwords, wiping their characters, and prepares the model for a new batch.
+     *
+     * @param passwordLength The length of every password in the new batch.
+     */
+    public void reset(int passwordLength) {
+        int oldSize = size;
+        for (char[] chunk : chunks) {
+            Arrays.fill(chunk, '\0');
+        }
+        chunks = new char[0][];
+        this.passwordLength = passwordLength;
+        size = 0;
+        if (oldSize > 0) {
+            fireIntervalRemoved(this, 0, oldSize - 1);
+        }
+    }
+
+    /**
+     * Appends a block of passwords stored back to back.
+     *
+     * @param block The packed passwords; its length must be a multiple of the password length.
+     * @param count The number of passwords in the block.
+     */
+    public void append(char[] block, int count) {
+        if (count <= 0) {
+            return;
+        }
+        int first = size;
+        int rowsCopied = 0;
+        while (rowsCopied < count) {
+            int chunkIndex = size / ROWS_PER_CHUNK;
+            if (chunkIndex == chunks.length) {
+                chunks = Arrays.copyOf(chunks, chunks.length + 1);
+                chunks[chunkIndex] = new char[ROWS_PER_CHUNK * passwordLength];
+            }
+            int row = size % ROWS_PER_CHUNK;
+            int rows = Math.min(count - rowsCopied, ROWS_PER_CHUNK - row);
+            System.arraycopy(block, rowsCopied * passwordLength, chunks[chunkIndex], row * passwordLength,
+                    rows * passwordLength);
+            rowsCopied += rows;
+            size += rows;
+        }
+        fireIntervalAdded(this, first, size - 1);
+    }
+
+    /**
+     * Returns the number of passwords in the batch.
+     *
+     * @return The number of rows.
+     */
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the password at the given row.
+     *
+     * @param index The row index.
+     * @return The password.
+     */
+    @Override
+    public String getElementAt(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return new String(chunks[index / ROWS_PER_CHUNK], (index % ROWS_PER_CHUNK) * passwordLength, passwordLength);
+    }
+
+    /**
+     * Appends the password at the given row to a builder without creating an intermediate string.
+     *
+     * @param index  The row index.
+     * @param target The builder to append to.
+     */
+    public void appendTo(int index, StringBuilder target) {
+        target.append(chunks[index / ROWS_PER_CHUNK], (index % ROWS_PER_CHUNK) * passwordLength, passwordLength);
+    }
+}
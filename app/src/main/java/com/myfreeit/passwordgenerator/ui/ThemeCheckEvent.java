@@ -0,0 +1,48 @@
+package com.myfreeit.passwordgenerator.ui;
+
+/*
+ * Copyright (c) 2024, Denis Odesskiy. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of Denis Odesskiy
+ * ("Confidential Information"). You shall not disclose such Confidential Information
+ * and shall use it only in accordance with the terms of the license agreement you
+ * entered into with Denis Odesskiy.
+ */
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event for one periodic system theme check by {@link ThemeManager}, including
+ * switching the look and feel when the theme has changed.
+ *
+ * <p>The check runs every second, so by default only checks slower than the threshold are
+ * recorded.</p>
+ *
+ * @author Denis Odesskiy
+ * @since 2024
+ */
+@Name(ThemeCheckEvent.NAME)
+@Label("Theme Check")
+@Description("Query of the system theme and, if it changed, switch of the look and feel")
+@Category({"Password Generator", "UI"})
+@Threshold("20 ms")
+@StackTrace(false)
+public final class ThemeCheckEvent extends jdk.jfr.Event {
+
+    /**
+     * The event type name used in recordings and settings files.
+     */
+    public static final String NAME = "com.myfreeit.passwordgenerator.ThemeCheck";
+
+    @Label("Dark Mode")
+    public boolean darkMode;
+
+    @Label("Changed")
+    @Description("Whether the theme changed and the look and feel was switched")
+    public boolean changed;
+}
@@ -11,7 +11,8 @@ package com.myfreeit.passwordgenerator.ui;
 
 import com.formdev.flatlaf.FlatDarkLaf;
 import com.formdev.flatlaf.FlatLightLaf;
-import com.myfreeit.passwordgenerator.View;
+import com.myfreeit.passwordgenerator.app.View;
+import com.myfreeit.passwordgenerator.jfr.FlightRecording;
 
 import javax.swing.*;
 import java.awt.*;
@@ -100,18 +101,31 @@ public class ThemeManager {
         timer.schedule(new TimerTask() {
             @Override
             public void run() {
+                ThemeCheckEvent event = FlightRecording.isRecording() ? new ThemeCheckEvent() : null;
+                if (event != null) {
+                    event.begin();
+                }
+                boolean darkModeEnabled = false;
+                boolean changed = false;
                 try {
-                    boolean darkModeEnabled = checkDarkMode();
+                    darkModeEnabled = checkDarkMode();
                     if (darkModeEnabled != isDarkModeEnabled) {
+                        changed = true;
                         isDarkModeEnabled = darkModeEnabled;
                         setLookAndFeel(darkModeEnabled);
-                        SwingUtilities.invokeLater(() -> {
+                        SwingUtilities.invokeLater(() -> EdtWatchdog.measure("ThemeManager.updateComponentTreeUI", () -> {
                             SwingUtilities.updateComponentTreeUI(view);
                             view.repaint();
-                        });
+                        }));
                     }
                 } catch (Exception e) {
                     e.printStackTrace();
+                } finally {
+                    if (event != null) {
+                        event.darkMode = darkModeEnabled;
+                        event.changed = changed;
+                        event.commit();
+                    }
                 }
             }
         }, 0, 1000);    // Timer checks for theme change every second.
@@ -0,0 +1,61 @@
+package com.myfreeit.passwordgenerator.ui;
+
+/*
+ * Copyright (c) 2024, Denis Odesskiy. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of Denis Odesskiy
+ * ("Confidential Information"). You shall not disclose such Confidential Information
+ * and shall use it only in accordance with the terms of the license agreement you
+ * entered into with Denis Odesskiy.
+ */
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for a user action handled by the
+ * {@link com.myfreeit.passwordgenerator.app.Controller} on the event dispatch thread.
+ *
+ * @author Denis Odesskiy
+ * @since 2024
+ */
+@Name(UiActionEvent.NAME)
+@Label("UI Action")
+@Description("Handling of a user action on the event dispatch thread")
+@Category({"Password Generator", "UI"})
+@StackTrace(false)
+public final class UiActionEvent extends jdk.jfr.Event {
+
+    /**
+     * The event type name used in recordings and settings files.
+     */
+    public static final String NAME = "com.myfreeit.passwordgenerator.UiAction";
+
+    @Label("Action")
+    public String action;
+
+    /**
+     * Runs the action and records it if the event is enabled and the action took longer than
+     * the configured threshold. Calling this loads {@code jdk.jfr}, so only call it when
+     * {@link com.myfreeit.passwordgenerator.jfr.FlightRecording#isRecording()} is true.
+     *
+     * @param action The action name.
+     * @param body   The code handling the action.
+     */
+    public static void record(String action, Runnable body) {
+        UiActionEvent event = new UiActionEvent();
+        event.begin();
+        try {
+            body.run();
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.action = action;
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.myfreeit.passwordgenerator.benchmarks;
+
+/*
+ * Copyright (c) 2024, Denis Odesskiy. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of Denis Odesskiy
+ * ("Confidential Information"). You shall not disclose such Confidential Information
+ * and shall use it only in accordance with the terms of the license agreement you
+ * entered into with Denis Odesskiy.
+ */
+
+import com.myfreeit.passwordgenerator.Model;
+import com.myfreeit.passwordgenerator.engine.AlphabetSampler;
+import com.myfreeit.passwordgenerator.engine.AlphabetSamplers;
+import com.myfreeit.passwordgenerator.filter.PasswordConstraint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the scalar and vectorized samplers, both on raw character blocks and on whole
+ * passwords generated through {@link Model}.
+ *
+ * <p>The forked JVMs are started with the Vector API module so that both engines can run;
+ * the {@code engine} parameter selects which one is measured.</p>
+ *
+ * @author Denis Odesskiy
+ * @since 2024
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class AlphabetSamplerBenchmark {
+
+    private static final char[] ALPHABET =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789!@#$%^&*()_-+=<>?".toCharArray();
+
+    @Param({"scalar", "vector"})
+    private String engine;
+
+    @Param({"16", "64", "4096"})
+    private int length;
+
+    private AlphabetSampler sampler;
+    private SecureRandom random;
+    private Model model;
+    private char[] block;
+
+    @Setup
+    public void setUp() {
+        sampler = "vector".equals(engine) ? AlphabetSamplers.vector() : AlphabetSamplers.scalar();
+        random = new SecureRandom();
+        model = new Model(sampler, new PasswordConstraint[0]);
+        block = new char[length];
+    }
+
+    @Benchmark
+    public char[] sampleBlock() {
+        sampler.sample(random, ALPHABET, block, 0, block.length);
+        return block;
+    }
+
+    @Benchmark
+    public char[] generatePassword() {
+        return model.generatePassword(length, true, random);
+    }
+}
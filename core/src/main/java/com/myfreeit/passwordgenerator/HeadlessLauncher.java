@@ -0,0 +1,164 @@
+package com.myfreeit.passwordgenerator;
+
+/*
+ * Copyright (c) 2024, Denis Odesskiy. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of Denis Odesskiy
+ * ("Confidential Information"). You shall not disclose such Confidential Information
+ * and shall use it only in accordance with the terms of the license agreement you
+ * entered into with Denis Odesskiy.
+ */
+
+import com.myfreeit.passwordgenerator.filter.PasswordConstraint;
+import com.myfreeit.passwordgenerator.filter.RuleSetConstraint;
+import com.myfreeit.passwordgenerator.jfr.BatchGenerationEvent;
+import com.myfreeit.passwordgenerator.jfr.FlightRecording;
+import com.myfreeit.passwordgenerator.load.LoadTest;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.util.Arrays;
+
+/**
+ * Command-line front-end that generates passwords without loading any Swing classes.
+ *
+ * <p>Usage: {@code --headless [--length N] [--count N] [--special] [--rules FILE]}. Passwords are
+ * written to standard output, one per line. {@code --rules} applies a {@link RuleSetConstraint}
+ * rule file. The launcher is reached through the Swing application's
+ * {@code App --headless}, or directly with {@code java -jar passwordgenerator-core.jar}, in
+ * which case {@code --headless} may be omitted.</p>
+ *
+ * <p>{@code --load-test} hands the command line to {@link LoadTest} instead, which measures
+ * latency and throughput under sustained concurrent load.</p>
+ *
+ * @author Denis Odesskiy
+ * @since 2024
+ */
+public final class HeadlessLauncher {
+
+    /**
+     * The argument that selects headless mode.
+     */
+    public static final String HEADLESS_OPTION = "--headless";
+
+    private static final int DEFAULT_LENGTH = 16;
+    private static final int MIN_LENGTH = 8;
+    private static final int MAX_LENGTH = 64;
+    private static final String USAGE = "Usage: --headless [--length N] [--count N] [--special] [--rules FILE]";
+
+    private HeadlessLauncher() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Entry point of the core jar.
+     *
+     * @param args {@code [--length N] [--count N] [--special] [--rules FILE]}.
+     */
+    public static void main(String[] args) {
+        System.exit(run(args, System.out, System.err));
+    }
+
+    /**
+     * Checks whether the command line selects headless mode.
+     *
+     * @param args The command-line arguments.
+     * @return true if {@link #HEADLESS_OPTION} or {@link LoadTest#LOAD_TEST_OPTION} is present.
+     */
+    public static boolean isHeadless(String[] args) {
+        return Arrays.asList(args).contains(HEADLESS_OPTION) || LoadTest.isLoadTest(args);
+    }
+
+    /**
+     * Generates passwords as requested by the command line.
+     *
+     * @param args The command-line arguments.
+     * @param out  The stream the passwords are written to.
+     * @param err  The stream usage errors are written to.
+     * @return The process exit code: 0 on success, 2 on invalid arguments or invalid or unsatisfiable
+     * rules, 1 on I/O errors.
+     */
+    public static int run(String[] args, PrintStream out, PrintStream err) {
+        if (LoadTest.isLoadTest(args)) {
+            return LoadTest.run(args, out, err);
+        }
+        int length = DEFAULT_LENGTH;
+        long count = 1;
+        boolean useSpecialChars = false;
+        Path rulesFile = null;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case HEADLESS_OPTION -> {
+                        // Selects this launcher; nothing to parse.
+                    }
+                    case "--length" -> length = Integer.parseInt(args[++i]);
+                    case "--count" -> count = Long.parseLong(args[++i]);
+                    case "--special" -> useSpecialChars = true;
+                    case "--rules" -> rulesFile = Path.of(args[++i]);
+                    default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+            if (length < MIN_LENGTH || length > MAX_LENGTH || count < 1) {
+                throw new IllegalArgumentException("Length must be between " + MIN_LENGTH + " and " + MAX_LENGTH
+                        + " and count must be positive");
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            err.println(e instanceof IllegalArgumentException ? e.getMessage() : "Missing option value");
+            err.println(USAGE);
+            return 2;
+        }
+
+        SecureRandom random = RandomSources.create("HeadlessLauncher");
+        BatchGenerationEvent event = FlightRecording.isRecording() ? new BatchGenerationEvent() : null;
+        try {
+            Model model = rulesFile == null ? new Model()
+                    : new Model(new PasswordConstraint[]{RuleSetConstraint.load(rulesFile)});
+            if (event != null) {
+                event.begin();
+            }
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out), 1 << 16);
+            for (long i = 0; i < count; i++) {
+                char[] password = model.generatePassword(length, useSpecialChars, random);
+                writer.write(password);
+                writer.write(System.lineSeparator());
+                Arrays.fill(password, '\0');
+                if (i == 0) {
+                    writer.flush();
+                    StartupProbe.finish("time-to-first-password");
+                }
+                RandomSources.reseedIfDue(random, i + 1, "HeadlessLauncher");
+            }
+            writer.flush();
+            if (event != null) {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.source = "headless";
+                    event.count = count;
+                    event.length = length;
+                    event.specialCharacters = useSpecialChars;
+                    event.policy = model.getPolicy();
+                    event.rejectedDraws = model.getRejectedDraws();
+                    event.commit();
+                }
+            }
+        } catch (IOException e) {
+            err.println(e.getMessage());
+            return 1;
+        } catch (IllegalArgumentException e) {
+            // A malformed rule file or an unusable passwordgenerator.engine setting.
+            err.println(e.getMessage());
+            return 2;
+        } catch (IllegalStateException e) {
+            // A rule file that no password of this length can satisfy.
+            err.println(e.getMessage() + (rulesFile == null ? "" : ": " + rulesFile));
+            return 2;
+        }
+        return 0;
+    }
+}
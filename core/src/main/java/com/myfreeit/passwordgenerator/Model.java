@@ -0,0 +1,387 @@
+package com.myfreeit.passwordgenerator;
+
+/*
+ * Copyright (c) 2024, Denis Odesskiy. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of Denis Odesskiy
+ * ("Confidential Information"). You shall not disclose such Confidential Information
+ * and shall use it only in accordance with the terms of the license agreement you
+ * entered into with Denis Odesskiy.
+ */
+
+import com.myfreeit.passwordgenerator.engine.AlphabetSampler;
+import com.myfreeit.passwordgenerator.engine.AlphabetSamplers;
+import com.myfreeit.passwordgenerator.filter.PasswordConstraint;
+import com.myfreeit.passwordgenerator.filter.PasswordFilter;
+import com.myfreeit.passwordgenerator.jfr.FlightRecording;
+import com.myfreeit.passwordgenerator.jfr.PasswordGenerationEvent;
+
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The Model class provides functionality for generating secure random passwords
+ * based on a combination of uppercase letters, lowercase letters, digits, and
+ * optional special characters.
+ *
+ * <p>The class uses {@link SecureRandom} to ensure high entropy in password
+ * generation and includes logic to avoid sequential characters.</p>
+ *
+ * <p>It supports generating passwords with or without special characters
+ * depending on the user input.</p>
+ *
+ * <p>Optional {@link PasswordConstraint}s are consulted for every character as it is
+ * drawn, so a candidate that would violate a constraint is rejected immediately
+ * instead of after the whole password has been built. Optional {@link PasswordFilter}s
+ * then act as rejection stages on each completed password.</p>
+ *
+ * <p>Candidate characters are drawn in blocks through an {@link AlphabetSampler}, which
+ * lets a vectorized engine map many random bytes at once when the JVM supports it.</p>
+ *
+ * @author Denis Odesskiy
+ * @since 2024
+ */
+public class Model {
+
+    private static final char[] UPPERCASE = "ABCDEFGHIJKLMNOPQRSTUVWXYZ".toCharArray();
+    private static final char[] LOWERCASE = "abcdefghijklmnopqrstuvwxyz".toCharArray();
+    private static final char[] DIGITS = "0123456789".toCharArray();
+    private static final char[] SPECIAL = "!@#$%^&*()_-+=<>?".toCharArray();
+    private static final char[] ALL = concat(UPPERCASE, LOWERCASE, DIGITS);
+    private static final char[] ALL_WITH_SPECIAL = concat(ALL, SPECIAL);
+    /**
+     * Extra filler candidates drawn with every block, so that the occasional rejected draw rarely
+     * forces another sampler call.
+     */
+    private static final int CANDIDATE_SLACK = 8;
+    private static final int MAX_DRAWS_PER_POSITION = 1_000;
+    private static final int MAX_ATTEMPTS = 100;
+
+    private final PasswordConstraint[] constraints;
+    private final PasswordFilter[] filters;
+    private final AlphabetSampler sampler;
+    private final String policy;
+    private final LongAdder rejectedDraws = new LongAdder();
+
+    /**
+     * Creates a model without any additional constraints.
+     */
+    public Model() {
+        this(new PasswordConstraint[0]);
+    }
+
+    /**
+     * Creates a model that only produces passwords accepted by all of the given constraints.
+     *
+     * @param constraints The constraints every generated password must satisfy.
+     */
+    public Model(PasswordConstraint... constraints) {
+        this(constraints, new PasswordFilter[0]);
+    }
+
+    /**
+     * Creates a model that only produces passwords accepted by all of the given constraints
+     * and filters. Filters run in the given order after a password has been completed.
+     *
+     * @param constraints The constraints checked for every generated character.
+     * @param filters     The filters checked for every completed password.
+     */
+    public Model(PasswordConstraint[] constraints, PasswordFilter... filters) {
+        this(AlphabetSamplers.getDefault(), constraints, filters);
+    }
+
+    /**
+     * Creates a model that draws its characters through the given sampler.
+     *
+     * @param sampler     The sampler that maps random bytes to characters.
+     * @param constraints The constraints checked for every generated character.
+     * @param filters     The filters checked for every completed password.
+     */
+    public Model(AlphabetSampler sampler, PasswordConstraint[] constraints, PasswordFilter... filters) {
+        this.sampler = Objects.requireNonNull(sampler, "sampler");
+        this.constraints = constraints.clone();
+        this.filters = filters.clone();
+        for (PasswordConstraint constraint : this.constraints) {
+            Objects.requireNonNull(constraint, "constraint");
+        }
+        for (PasswordFilter filter : this.filters) {
+            Objects.requireNonNull(filter, "filter");
+        }
+        this.policy = describePolicy(this.constraints, this.filters);
+    }
+
+    /**
+     * Returns a short description of the configured constraints and filters, e.g. for diagnostics.
+     *
+     * @return The simple class names of the constraints and filters, or {@code "default"}.
+     */
+    public String getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Returns every character a generated password can contain, e.g. to compile a
+     * {@link com.myfreeit.passwordgenerator.filter.BannedSubstringFilter} for exactly these characters.
+     *
+     * @param useSpecialChars If true, includes the special characters.
+     * @return The characters, as a new string.
+     */
+    public static String getCharacters(boolean useSpecialChars) {
+        return new String(useSpecialChars ? ALL_WITH_SPECIAL : ALL);
+    }
+
+    /**
+     * Returns the number of character draws this model has rejected so far, across all threads.
+     *
+     * <p>A draw is rejected when it would form a sequential pair or violate a constraint and has
+     * to be redrawn. Comparing the value before and after a batch shows how much randomness the
+     * policy costs.</p>
+     *
+     * @return The total number of rejected draws.
+     */
+    public long getRejectedDraws() {
+        return rejectedDraws.sum();
+    }
+
+    /**
+     * Generates a random password with the specified length.
+     *
+     * <p>The password includes at least one uppercase letter, one lowercase letter,
+     * and one digit. If special characters are enabled, the password will also
+     * include at least one special character.</p>
+     *
+     * @param length          The desired length of the password.
+     * @param useSpecialChars If true, includes special characters in the password.
+     * @return A secure random password as a {@link String}.
+     */
+    public String generatePassword(int length, boolean useSpecialChars) {
+        return new String(generatePassword(length, useSpecialChars, RandomSources.create("Model")));
+    }
+
+    /**
+     * Generates a random password with the specified length using the supplied random source.
+     *
+     * <p>This variant lets bulk callers reuse a single {@link SecureRandom} across many passwords
+     * instead of creating and seeding a new one for every call, and returns the password as a
+     * {@code char[]} so the caller can wipe it once it is no longer needed.</p>
+     *
+     * @param length          The desired length of the password.
+     * @param useSpecialChars If true, includes special characters in the password.
+     * @param random          The random source to draw characters from.
+     * @return A secure random password as a {@code char[]}.
+     */
+    public char[] generatePassword(int length, boolean useSpecialChars, SecureRandom random) {
+        char[] password = new char[Math.max(length, useSpecialChars ? 4 : 3)];
+        int[] states = new int[constraints.length];
+        int[] pending = new int[constraints.length];
+        Draws draws = new Draws(useSpecialChars ? ALL_WITH_SPECIAL : ALL,
+                password.length + CANDIDATE_SLACK, random);
+        PasswordGenerationEvent event = FlightRecording.isRecording() ? new PasswordGenerationEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+
+        int attempt = 0;
+        try {
+            while (attempt < MAX_ATTEMPTS) {
+                attempt++;
+                if (fillPassword(password, draws, useSpecialChars, states, pending)
+                        && passesFilters(password)) {
+                    return password;
+                }
+            }
+        } finally {
+            draws.wipe();
+            if (draws.rejected > 0) {
+                rejectedDraws.add(draws.rejected);
+            }
+            if (event != null) {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.length = password.length;
+                    event.specialCharacters = useSpecialChars;
+                    event.policy = policy;
+                    event.engine = sampler.getName();
+                    event.attempts = attempt;
+                    event.rejectedDraws = draws.rejected;
+                    event.commit();
+                }
+            }
+        }
+        Arrays.fill(password, '\0');
+        throw new IllegalStateException("Unable to generate a password that satisfies the configured constraints");
+    }
+
+    /**
+     * Runs the completed password through every filter.
+     *
+     * @return true if all filters accept the password.
+     */
+    private boolean passesFilters(char[] password) {
+        for (PasswordFilter filter : filters) {
+            if (!filter.accept(password)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Fills the whole password buffer, starting over from the initial constraint states.
+     *
+     * @return true if every position was filled; false if a position could not be filled
+     * without violating a constraint and generation has to restart.
+     */
+    private boolean fillPassword(char[] password, Draws draws, boolean useSpecialChars,
+                                 int[] states, int[] pending) {
+        for (int i = 0; i < constraints.length; i++) {
+            states[i] = constraints[i].initialState();
+        }
+        int position = 0;
+
+        // Ensure at least one of each required character type is included
+        if (!appendRequiredChar(password, position++, UPPERCASE, draws, states, pending)
+                || !appendRequiredChar(password, position++, LOWERCASE, draws, states, pending)
+                || !appendRequiredChar(password, position++, DIGITS, draws, states, pending)
+                || (useSpecialChars && !appendRequiredChar(password, position++, SPECIAL, draws, states, pending))) {
+            return false;
+        }
+
+        // Fill the rest of the password length
+        while (position < password.length) {
+            if (!appendFillerChar(password, position++, draws, states, pending)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Draws characters from a required character class until one is accepted at the given position.
+     *
+     * @return true if a character was stored; false if every draw was rejected.
+     */
+    private boolean appendRequiredChar(char[] password, int position, char[] pool,
+                                       Draws draws, int[] states, int[] pending) {
+        for (int draw = 0; draw < MAX_DRAWS_PER_POSITION; draw++) {
+            char nextChar = pool[draws.random.nextInt(pool.length)];
+            if (advanceConstraints(states, pending, nextChar)) {
+                password[position] = nextChar;
+                draws.rejected += draw;
+                return true;
+            }
+        }
+        draws.rejected += MAX_DRAWS_PER_POSITION;
+        return false;
+    }
+
+    /**
+     * Takes filler candidates until one is accepted at the given position.
+     *
+     * @return true if a character was stored; false if every draw was rejected.
+     */
+    private boolean appendFillerChar(char[] password, int position, Draws draws,
+                                     int[] states, int[] pending) {
+        for (int draw = 0; draw < MAX_DRAWS_PER_POSITION; draw++) {
+            char nextChar = draws.nextFiller(password.length - position);
+            if (isSequential(password[position - 1], nextChar)) {
+                continue;
+            }
+            if (advanceConstraints(states, pending, nextChar)) {
+                password[position] = nextChar;
+                draws.rejected += draw;
+                return true;
+            }
+        }
+        draws.rejected += MAX_DRAWS_PER_POSITION;
+        return false;
+    }
+
+    /**
+     * Feeds the candidate character to every constraint and commits the new states if all accept it.
+     */
+    private boolean advanceConstraints(int[] states, int[] pending, char candidate) {
+        for (int i = 0; i < constraints.length; i++) {
+            int next = constraints[i].next(states[i], candidate);
+            if (next == PasswordConstraint.REJECT) {
+                return false;
+            }
+            pending[i] = next;
+        }
+        System.arraycopy(pending, 0, states, 0, constraints.length);
+        return true;
+    }
+
+    /**
+     * Checks if two characters are sequential based on their ASCII values.
+     *
+     * @param prev    The previous character in the sequence.
+     * @param current The current character being considered.
+     * @return true if the characters are sequential; false otherwise.
+     */
+    private boolean isSequential(char prev, char current) {
+        return Math.abs(prev - current) == 1;
+    }
+
+    private static String describePolicy(PasswordConstraint[] constraints, PasswordFilter[] filters) {
+        StringJoiner joiner = new StringJoiner(",").setEmptyValue("default");
+        for (PasswordConstraint constraint : constraints) {
+            joiner.add(constraint.getClass().getSimpleName());
+        }
+        for (PasswordFilter filter : filters) {
+            joiner.add(filter.getClass().getSimpleName());
+        }
+        return joiner.toString();
+    }
+
+    private static char[] concat(char[]... parts) {
+        StringBuilder builder = new StringBuilder();
+        for (char[] part : parts) {
+            builder.append(part);
+        }
+        return builder.toString().toCharArray();
+    }
+
+    /**
+     * The draw state of one generation call: a block of filler characters drawn ahead of time
+     * through the sampler and handed out one by one, and the number of rejected draws.
+     */
+    private final class Draws {
+
+        private final char[] alphabet;
+        private final char[] buffer;
+        private final SecureRandom random;
+        private int position;
+        private int limit;
+        private long rejected;
+
+        Draws(char[] alphabet, int size, SecureRandom random) {
+            this.alphabet = alphabet;
+            this.buffer = new char[size];
+            this.random = random;
+        }
+
+        /**
+         * Hands out the next filler candidate. An exhausted block is refilled with only as many
+         * candidates as the remaining positions need plus {@link #CANDIDATE_SLACK}, so rejections
+         * late in a long password do not resample the whole buffer.
+         *
+         * @param remaining The number of positions still to fill, including the current one.
+         */
+        char nextFiller(int remaining) {
+            if (position == limit) {
+                limit = Math.min(buffer.length, remaining + CANDIDATE_SLACK);
+                sampler.sample(random, alphabet, buffer, 0, limit);
+                position = 0;
+            }
+            return buffer[position++];
+        }
+
+        void wipe() {
+            Arrays.fill(buffer, '\0');
+        }
+    }
+}
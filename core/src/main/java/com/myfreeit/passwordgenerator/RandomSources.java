@@ -0,0 +1,107 @@
+package com.myfreeit.passwordgenerator;
+
+/*
+ * Copyright (c) 2024, Denis Odesskiy. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of Denis Odesskiy
+ * ("Confidential Information"). You shall not disclose such Confidential Information
+ * and shall use it only in accordance with the terms of the license agreement you
+ * entered into with Denis Odesskiy.
+ */
+
+import com.myfreeit.passwordgenerator.jfr.FlightRecording;
+import com.myfreeit.passwordgenerator.jfr.SecureRandomEvent;
+
+import java.security.SecureRandom;
+
+/**
+ * Creates and reseeds the {@link SecureRandom} instances used for generation, and reports both
+ * as {@link SecureRandomEvent}s while Flight Recorder is running.
+ *
+ * <p>A new {@link SecureRandom} usually seeds itself lazily on first use. {@link #create(String)}
+ * draws once right away so that the seeding cost shows up in the creation event rather than in
+ * the first generated password.</p>
+ *
+ * @author Denis Odesskiy
+ * @since 2024
+ */
+public final class RandomSources {
+
+    /**
+     * Number of passwords after which long-running bulk generators reseed their random source.
+     */
+    public static final long RESEED_INTERVAL = 1L << 20;
+
+    private static final int RESEED_BYTES = 32;
+
+    private RandomSources() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Creates and seeds a new random source.
+     *
+     * @param context The component that will use it, recorded in the event.
+     * @return The seeded random source.
+     */
+    public static SecureRandom create(String context) {
+        SecureRandomEvent event = begin();
+        SecureRandom random = new SecureRandom();
+        random.nextInt();
+        commit(event, "create", random, context);
+        return random;
+    }
+
+    /**
+     * Mixes fresh entropy into the random source. Uses {@link SecureRandom#reseed()} when the
+     * algorithm supports it and otherwise adds a freshly generated seed.
+     *
+     * @param random  The random source to reseed.
+     * @param context The component that uses it, recorded in the event.
+     */
+    public static void reseed(SecureRandom random, String context) {
+        SecureRandomEvent event = begin();
+        try {
+            random.reseed();
+        } catch (UnsupportedOperationException e) {
+            random.setSeed(random.generateSeed(RESEED_BYTES));
+        }
+        commit(event, "reseed", random, context);
+    }
+
+    /**
+     * Reseeds the random source when a bulk generator has produced another
+     * {@link #RESEED_INTERVAL} passwords with it.
+     *
+     * @param random    The random source.
+     * @param generated The number of passwords generated with it so far.
+     * @param context   The component that uses it, recorded in the event.
+     */
+    public static void reseedIfDue(SecureRandom random, long generated, String context) {
+        if (generated > 0 && generated % RESEED_INTERVAL == 0) {
+            reseed(random, context);
+        }
+    }
+
+    private static SecureRandomEvent begin() {
+        if (!FlightRecording.isRecording()) {
+            return null;
+        }
+        SecureRandomEvent event = new SecureRandomEvent();
+        event.begin();
+        return event;
+    }
+
+    private static void commit(SecureRandomEvent event, String operation, SecureRandom random, String context) {
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.algorithm = random.getAlgorithm();
+            event.context = context;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.myfreeit.passwordgenerator;
+
+/*
+ * Copyright (c) 2024, Denis Odesskiy. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of Denis Odesskiy
+ * ("Confidential Information"). You shall not disclose such Confidential Information
+ * and shall use it only in accordance with the terms of the license agreement you
+ * entered into with Denis Odesskiy.
+ */
+
+import java.time.Instant;
+
+/**
+ * Reports startup milestones for the startup benchmark.
+ *
+ * <p>The probe is enabled with {@code -Dpasswordgenerator.startupProbe=true}, which prints one
+ * {@code startup <milestone> <millis>} line to standard error per milestone, or with
+ * {@code =exit}, which additionally exits the application right after the final milestone.
+ * Times are measured from {@code -Dpasswordgenerator.launchEpochMillis} when the launcher
+ * provides it, and from the start of the JVM process otherwise.</p>
+ *
+ * @author Denis Odesskiy
+ * @since 2024
+ */
+public final class StartupProbe {
+
+    /**
+     * System property that enables the probe: {@code true} or {@code exit}.
+     */
+    public static final String PROBE_PROPERTY = "passwordgenerator.startupProbe";
+
+    /**
+     * System property with the launch time in milliseconds since the epoch.
+     */
+    public static final String LAUNCH_TIME_PROPERTY = "passwordgenerator.launchEpochMillis";
+
+    private StartupProbe() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Reports an intermediate milestone if the probe is enabled.
+     *
+     * @param milestone The milestone name.
+     */
+    public static void mark(String milestone) {
+        if (System.getProperty(PROBE_PROPERTY) != null) {
+            long launch = Long.getLong(LAUNCH_TIME_PROPERTY, ProcessHandle.current().info().startInstant()
+                    .map(Instant::toEpochMilli).orElse(System.currentTimeMillis()));
+            System.err.println("startup " + milestone + " " + (System.currentTimeMillis() - launch));
+        }
+    }
+
+    /**
+     * Reports the final milestone and exits if the probe runs in {@code exit} mode.
+     *
+     * @param milestone The milestone name.
+     */
+    public static void finish(String milestone) {
+        mark(milestone);
+        if ("exit".equals(System.getProperty(PROBE_PROPERTY))) {
+            System.exit(0);
+        }
+    }
+}
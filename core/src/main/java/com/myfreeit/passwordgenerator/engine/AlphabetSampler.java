@@ -0,0 +1,47 @@
+package com.myfreeit.passwordgenerator.engine;
+
+/*
+ * Copyright (c) 2024, Denis Odesskiy. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of Denis Odesskiy
+ * ("Confidential Information"). You shall not disclose such Confidential Information
+ * and shall use it only in accordance with the terms of the license agreement you
+ * entered into with Denis Odesskiy.
+ */
+
+import java.security.SecureRandom;
+
+/**
+ * Draws characters uniformly at random from an alphabet, many at a time.
+ *
+ * <p>Every implementation must produce exactly the same distribution as drawing
+ * {@code alphabet[random.nextInt(alphabet.length)]} for each position: characters are
+ * independent and each one is equally likely. Implementations differ only in how they
+ * turn random bytes into alphabet indices.</p>
+ *
+ * <p>Use {@link AlphabetSamplers#getDefault()} to obtain the fastest sampler supported by
+ * the running JVM.</p>
+ *
+ * @author Denis Odesskiy
+ * @since 2024
+ */
+public interface AlphabetSampler {
+
+    /**
+     * Fills {@code out[offset, offset + count)} with characters drawn from the alphabet.
+     *
+     * @param random   The random source to draw from.
+     * @param alphabet The characters to choose from; between 1 and 65536 entries. Must not be modified.
+     * @param out      The buffer receiving the characters.
+     * @param offset   The first position of {@code out} to fill.
+     * @param count    The number of characters to draw.
+     */
+    void sample(SecureRandom random, char[] alphabet, char[] out, int offset, int count);
+
+    /**
+     * Returns a short name identifying the implementation, e.g. for diagnostics.
+     *
+     * @return The sampler name.
+     */
+    String getName();
+}
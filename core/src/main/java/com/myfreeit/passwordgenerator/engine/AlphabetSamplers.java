@@ -0,0 +1,126 @@
+package com.myfreeit.passwordgenerator.engine;
+
+/*
+ * Copyright (c) 2024, Denis Odesskiy. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of Denis Odesskiy
+ * ("Confidential Information"). You shall not disclose such Confidential Information
+ * and shall use it only in accordance with the terms of the license agreement you
+ * entered into with Denis Odesskiy.
+ */
+
+import java.util.Locale;
+
+/**
+ * Factory for the available {@link AlphabetSampler} implementations.
+ *
+ * <p>The vectorized sampler is built on the incubating {@code jdk.incubator.vector} module,
+ * which the JVM only resolves when it is started with
+ * {@code --add-modules jdk.incubator.vector}. Without that module the scalar sampler is used,
+ * so the rest of the application never needs to know which one is active.</p>
+ *
+ * <p>By default ({@code auto}) the vectorized sampler is used whenever the module is resolved.
+ * This can be overridden with the {@code passwordgenerator.engine} system property:
+ * {@code scalar}, {@code vector} or {@code auto}. Asking for {@code vector} when the module is
+ * not resolved, or for an unknown engine, is an error rather than a silent fallback.</p>
+ *
+ * @author Denis Odesskiy
+ * @since 2024
+ */
+public final class AlphabetSamplers {
+
+    /**
+     * System property selecting the default sampler.
+     */
+    public static final String ENGINE_PROPERTY = "passwordgenerator.engine";
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_SAMPLER = "com.myfreeit.passwordgenerator.engine.VectorAlphabetSampler";
+
+    private AlphabetSamplers() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Returns the portable sampler that draws one character at a time.
+     *
+     * @return The scalar sampler.
+     */
+    public static AlphabetSampler scalar() {
+        return ScalarAlphabetSampler.INSTANCE;
+    }
+
+    /**
+     * Returns the sampler that maps whole blocks of random bytes with SIMD instructions.
+     *
+     * @return The vectorized sampler.
+     * @throws UnsupportedOperationException if {@code jdk.incubator.vector} is not available.
+     */
+    public static AlphabetSampler vector() {
+        AlphabetSampler sampler = VectorHolder.INSTANCE;
+        if (sampler == null) {
+            throw new UnsupportedOperationException("Start the JVM with --add-modules " + VECTOR_MODULE
+                    + " to use the vectorized engine");
+        }
+        return sampler;
+    }
+
+    /**
+     * Checks whether the vectorized sampler can be used in this JVM.
+     *
+     * @return true if {@link #vector()} will succeed.
+     */
+    public static boolean isVectorAvailable() {
+        return VectorHolder.INSTANCE != null;
+    }
+
+    /**
+     * Returns the sampler selected by the {@value #ENGINE_PROPERTY} property. With {@code auto}
+     * the scalar sampler is used when the vectorized one is not available.
+     *
+     * @return The default sampler.
+     * @throws IllegalArgumentException if the property names an unknown engine, or
+     *                                  {@code vector} while the vectorized sampler is not available.
+     */
+    public static AlphabetSampler getDefault() {
+        String engine = System.getProperty(ENGINE_PROPERTY, "auto").toLowerCase(Locale.ROOT);
+        return switch (engine) {
+            case "auto" -> isVectorAvailable() ? VectorHolder.INSTANCE : scalar();
+            case "scalar" -> scalar();
+            case "vector" -> {
+                if (!isVectorAvailable()) {
+                    throw new IllegalArgumentException(ENGINE_PROPERTY + "=vector requires a JVM started with"
+                            + " --add-modules " + VECTOR_MODULE);
+                }
+                yield VectorHolder.INSTANCE;
+            }
+            default -> throw new IllegalArgumentException("Unknown " + ENGINE_PROPERTY + ": " + engine
+                    + " (expected auto, scalar or vector)");
+        };
+    }
+
+    /**
+     * Loads the vectorized sampler on first use. It is only referenced reflectively, so this class
+     * never links against the incubator module when it is absent.
+     */
+    private static final class VectorHolder {
+
+        private static final AlphabetSampler INSTANCE = load();
+
+        private static AlphabetSampler load() {
+            if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+                return null;
+            }
+            try {
+                return (AlphabetSampler) Class.forName(VECTOR_SAMPLER)
+                        .getDeclaredConstructor()
+                        .newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // Looked up only here, so a normal start does not initialize logging.
+                System.getLogger(AlphabetSamplers.class.getName()).log(System.Logger.Level.WARNING,
+                        "The vectorized engine could not be loaded; using the scalar engine", e);
+                return null;
+            }
+        }
+    }
+}
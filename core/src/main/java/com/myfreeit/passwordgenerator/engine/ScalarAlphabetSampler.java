@@ -0,0 +1,41 @@
+package com.myfreeit.passwordgenerator.engine;
+
+/*
+ * Copyright (c) 2024, Denis Odesskiy. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of Denis Odesskiy
+ * ("Confidential Information"). You shall not disclose such Confidential Information
+ * and shall use it only in accordance with the terms of the license agreement you
+ * entered into with Denis Odesskiy.
+ */
+
+import java.security.SecureRandom;
+
+/**
+ * Draws one character at a time with {@link SecureRandom#nextInt(int)}.
+ *
+ * <p>This is the portable reference implementation that every JVM supports.</p>
+ *
+ * @author Denis Odesskiy
+ * @since 2024
+ */
+final class ScalarAlphabetSampler implements AlphabetSampler {
+
+    static final ScalarAlphabetSampler INSTANCE = new ScalarAlphabetSampler();
+
+    private ScalarAlphabetSampler() {
+    }
+
+    @Override
+    public void sample(SecureRandom random, char[] alphabet, char[] out, int offset, int count) {
+        int size = alphabet.length;
+        for (int i = offset, end = offset + count; i < end; i++) {
+            out[i] = alphabet[random.nextInt(size)];
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "scalar";
+    }
+}
@@ -0,0 +1,147 @@
+package com.myfreeit.passwordgenerator.engine;
+
+/*
+ * Copyright (c) 2024, Denis Odesskiy. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of Denis Odesskiy
+ * ("Confidential Information"). You shall not disclose such Confidential Information
+ * and shall use it only in accordance with the terms of the license agreement you
+ * entered into with Denis Odesskiy.
+ */
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.nio.ByteOrder;
+import java.security.SecureRandom;
+import java.util.Arrays;
+
+/**
+ * Maps whole blocks of random bytes to alphabet characters with the Vector API.
+ *
+ * <p>Each character is derived from 16 random bits {@code r} by Lemire's multiply-high
+ * reduction: the index is the high half of {@code r * n}, and the draw is rejected when the low
+ * half falls below {@code 65536 % n}. This leaves exactly {@code floor(65536 / n)} values of
+ * {@code r} for every index, so the result is unbiased. All lanes of a vector are reduced and
+ * compared at once; when every lane is accepted, which for a 79-character alphabet happens for
+ * more than 98% of 16-lane vectors, the characters are gathered from a lookup table and stored
+ * in one go. A vector with a rejected lane is stored lane by lane, skipping the rejected ones.</p>
+ *
+ * <p>This class links against {@code jdk.incubator.vector} and must only be loaded through
+ * {@link AlphabetSamplers}, which checks that the module is present first.</p>
+ *
+ * @author Denis Odesskiy
+ * @since 2024
+ */
+final class VectorAlphabetSampler implements AlphabetSampler {
+
+    private static final VectorSpecies<Integer> INT_SPECIES = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Short> SHORT_SPECIES =
+            VectorSpecies.of(short.class, VectorShape.forBitSize(INT_SPECIES.vectorBitSize() / 2));
+    private static final int LANES = INT_SPECIES.length();
+    private static final int BYTES_PER_VECTOR = LANES * Short.BYTES;
+    private static final int MAX_VECTORS_PER_BLOCK = 64;
+
+    /**
+     * Per-thread scratch space, so that sampling does not allocate in the steady state.
+     */
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    VectorAlphabetSampler() {
+    }
+
+    @Override
+    public void sample(SecureRandom random, char[] alphabet, char[] out, int offset, int count) {
+        int size = alphabet.length;
+        if (size == 0 || size > 1 << Short.SIZE) {
+            throw new IllegalArgumentException("Alphabet must have between 1 and 65536 characters");
+        }
+        if (count < LANES) {
+            ScalarAlphabetSampler.INSTANCE.sample(random, alphabet, out, offset, count);
+            return;
+        }
+        Scratch scratch = SCRATCH.get();
+        int[] table = scratch.table(alphabet);
+        int threshold = (1 << Short.SIZE) % size;
+        int position = offset;
+        int end = offset + count;
+
+        while (position < end) {
+            // Ask for one vector more than the remaining count to absorb the rare rejections.
+            int vectors = Math.min((end - position) / LANES + 1, MAX_VECTORS_PER_BLOCK);
+            byte[] bytes = scratch.bytes(vectors * BYTES_PER_VECTOR);
+            random.nextBytes(bytes);
+
+            for (int v = 0; v < vectors && position < end; v++) {
+                IntVector bits = ((IntVector) ShortVector.fromByteArray(SHORT_SPECIES, bytes,
+                        v * BYTES_PER_VECTOR, ByteOrder.LITTLE_ENDIAN)
+                        .convertShape(VectorOperators.S2I, INT_SPECIES, 0))
+                        .and(0xFFFF);
+                IntVector product = bits.mul(size);
+                IntVector indexes = product.lanewise(VectorOperators.LSHR, Short.SIZE);
+                VectorMask<Integer> accepted = product.and(0xFFFF).compare(VectorOperators.GE, threshold);
+
+                if (accepted.allTrue() && end - position >= LANES) {
+                    indexes.intoArray(scratch.indexes, 0);
+                    ((ShortVector) IntVector.fromArray(INT_SPECIES, table, 0, scratch.indexes, 0)
+                            .convertShape(VectorOperators.I2S, SHORT_SPECIES, 0))
+                            .intoCharArray(out, position);
+                    position += LANES;
+                } else {
+                    indexes.intoArray(scratch.indexes, 0);
+                    for (int lane = 0; lane < LANES && position < end; lane++) {
+                        if (accepted.laneIsSet(lane)) {
+                            out[position++] = alphabet[scratch.indexes[lane]];
+                        }
+                    }
+                }
+            }
+            Arrays.fill(bytes, (byte) 0);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "vector-" + INT_SPECIES.vectorBitSize();
+    }
+
+    /**
+     * Reusable buffers for one thread.
+     */
+    private static final class Scratch {
+
+        private final int[] indexes = new int[LANES];
+        private byte[] bytes = new byte[0];
+        private char[] tableAlphabet;
+        private int[] table;
+
+        /**
+         * Returns a buffer of exactly the requested length, since {@link SecureRandom#nextBytes}
+         * always fills the whole array.
+         */
+        byte[] bytes(int length) {
+            if (bytes.length != length) {
+                bytes = new byte[length];
+            }
+            return bytes;
+        }
+
+        /**
+         * Returns the alphabet widened to ints for the gather, caching the last one used.
+         */
+        int[] table(char[] alphabet) {
+            if (tableAlphabet != alphabet) {
+                table = new int[alphabet.length];
+                for (int i = 0; i < alphabet.length; i++) {
+                    table[i] = alphabet[i];
+                }
+                tableAlphabet = alphabet;
+            }
+            return table;
+        }
+    }
+}
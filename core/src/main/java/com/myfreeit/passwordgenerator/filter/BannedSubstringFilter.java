@@ -0,0 +1,254 @@
+package com.myfreeit.passwordgenerator.filter;
+
+/*
+ * Copyright (c) 2024, Denis Odesskiy. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of Denis Odesskiy
+ * ("Confidential Information"). You shall not disclose such Confidential Information
+ * and shall use it only in accordance with the terms of the license agreement you
+ * entered into with Denis Odesskiy.
+ */
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A {@link PasswordConstraint} that rejects passwords containing any word from a banned list,
+ * such as dictionary words, company names or profanity.
+ *
+ * <p>The word list is compiled into an Aho-Corasick automaton whose goto and failure functions
+ * are folded into a single dense transition table stored as a flat {@code int[]}. States are
+ * stored pre-multiplied by the alphabet size, so advancing by one character is a single array
+ * lookup: {@code delta[state + symbol[c]]}. Transitions that would complete a banned word point
+ * straight at {@link #REJECT}, which lets {@link com.myfreeit.passwordgenerator.Model} reject
+ * the offending character the moment it is drawn.</p>
+ *
+ * <p>Matching is case-insensitive. Characters that do not occur in any banned word share one
+ * symbol, which keeps the table as narrow as the word list allows. When the filter is compiled
+ * for a known alphabet, such as {@link com.myfreeit.passwordgenerator.Model#getCharacters(boolean)},
+ * words with characters outside it can never match and are dropped, so those characters do not
+ * widen the table either.</p>
+ *
+ * @author Denis Odesskiy
+ * @since 2024
+ */
+public final class BannedSubstringFilter implements PasswordConstraint {
+
+    private static final int ROOT = 0;
+
+    private final char[] symbolOf;
+    private final int[] delta;
+
+    private BannedSubstringFilter(char[] symbolOf, int[] delta) {
+        this.symbolOf = symbolOf;
+        this.delta = delta;
+    }
+
+    /**
+     * Loads a banned word list with one word per line. Blank lines and lines starting
+     * with {@code #} are ignored.
+     *
+     * @param wordList The UTF-8 encoded word list.
+     * @return The compiled filter.
+     * @throws IOException if the file cannot be read.
+     */
+    public static BannedSubstringFilter load(Path wordList) throws IOException {
+        return load(wordList, null);
+    }
+
+    /**
+     * Loads a banned word list for passwords drawn from the given alphabet. Words that contain a
+     * character the alphabet cannot produce, in either case, are dropped.
+     *
+     * @param wordList The UTF-8 encoded word list.
+     * @param alphabet The characters passwords are drawn from, or {@code null} to keep every word.
+     * @return The compiled filter.
+     * @throws IOException if the file cannot be read.
+     * @see #load(Path)
+     */
+    public static BannedSubstringFilter load(Path wordList, CharSequence alphabet) throws IOException {
+        List<String> words = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(wordList, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String word = line.strip();
+                if (!word.isEmpty() && word.charAt(0) != '#') {
+                    words.add(word);
+                }
+            }
+        }
+        return compile(words, alphabet);
+    }
+
+    /**
+     * Compiles the given banned words into a filter.
+     *
+     * @param words The banned words; empty entries are ignored.
+     * @return The compiled filter.
+     * @throws IllegalArgumentException if the automaton would exceed the maximum array size.
+     */
+    public static BannedSubstringFilter compile(Iterable<? extends CharSequence> words) {
+        return compile(words, null);
+    }
+
+    /**
+     * Compiles the given banned words into a filter for passwords drawn from the given alphabet.
+     * Words that contain a character the alphabet cannot produce, in either case, are dropped.
+     *
+     * @param words    The banned words; empty entries are ignored.
+     * @param alphabet The characters passwords are drawn from, or {@code null} to keep every word.
+     * @return The compiled filter.
+     * @throws IllegalArgumentException if the automaton would exceed the maximum array size.
+     */
+    public static BannedSubstringFilter compile(Iterable<? extends CharSequence> words, CharSequence alphabet) {
+        if (alphabet != null) {
+            words = producibleWords(words, alphabet);
+        }
+
+        // Assign a symbol to every distinct (case-folded) character; symbol 0 stands for all others.
+        char[] symbolOf = new char[Character.MAX_VALUE + 1];
+        int symbols = 1;
+        for (CharSequence word : words) {
+            for (int i = 0; i < word.length(); i++) {
+                char folded = Character.toLowerCase(word.charAt(i));
+                if (symbolOf[folded] == 0) {
+                    if (symbols == Character.MAX_VALUE) {
+                        throw new IllegalArgumentException("Banned word list uses too many distinct characters");
+                    }
+                    symbolOf[folded] = (char) symbols++;
+                }
+            }
+        }
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            symbolOf[c] = symbolOf[Character.toLowerCase((char) c)];
+        }
+
+        // Build the trie directly in the dense table; 0 marks a missing child since the root is never a child.
+        int[] delta = new int[symbols * 64];
+        boolean[] terminal = new boolean[64];
+        int states = 1;
+        for (CharSequence word : words) {
+            if (word.length() == 0) {
+                continue;
+            }
+            int state = ROOT;
+            for (int i = 0; i < word.length() && !terminal[state]; i++) {
+                int slot = state * symbols + symbolOf[word.charAt(i)];
+                if (delta[slot] == 0) {
+                    if ((long) (states + 1) * symbols > Integer.MAX_VALUE - 8) {
+                        throw new IllegalArgumentException("Banned word list is too large to compile");
+                    }
+                    if ((states + 1) * symbols > delta.length) {
+                        delta = Arrays.copyOf(delta, (int) Math.min((long) delta.length * 2, Integer.MAX_VALUE - 8));
+                        terminal = Arrays.copyOf(terminal, delta.length / symbols);
+                    }
+                    delta[slot] = states++;
+                }
+                state = delta[slot];
+            }
+            terminal[state] = true;
+        }
+
+        // Breadth-first pass: compute failure links and complete the goto function into a DFA.
+        int[] failure = new int[states];
+        int[] queue = new int[states];
+        int head = 0;
+        int tail = 0;
+        for (int s = 0; s < symbols; s++) {
+            int child = delta[s];
+            if (child != 0) {
+                failure[child] = ROOT;
+                queue[tail++] = child;
+            }
+        }
+        while (head < tail) {
+            int state = queue[head++];
+            int row = state * symbols;
+            int failureRow = failure[state] * symbols;
+            terminal[state] |= terminal[failure[state]];
+            for (int s = 0; s < symbols; s++) {
+                int child = delta[row + s];
+                if (child != 0) {
+                    failure[child] = delta[failureRow + s];
+                    queue[tail++] = child;
+                } else {
+                    delta[row + s] = delta[failureRow + s];
+                }
+            }
+        }
+
+        // Pre-multiply targets into row offsets and turn transitions into banned words into rejections.
+        int[] table = Arrays.copyOf(delta, states * symbols);
+        for (int i = 0; i < table.length; i++) {
+            int target = table[i];
+            table[i] = terminal[target] ? REJECT : target * symbols;
+        }
+        return new BannedSubstringFilter(symbolOf, table);
+    }
+
+    /**
+     * Keeps the words whose case-folded characters all occur in the case-folded alphabet.
+     */
+    private static List<CharSequence> producibleWords(Iterable<? extends CharSequence> words, CharSequence alphabet) {
+        boolean[] produced = new boolean[Character.MAX_VALUE + 1];
+        for (int i = 0; i < alphabet.length(); i++) {
+            produced[Character.toLowerCase(alphabet.charAt(i))] = true;
+        }
+        List<CharSequence> producible = new ArrayList<>();
+        for (CharSequence word : words) {
+            int i = 0;
+            while (i < word.length() && produced[Character.toLowerCase(word.charAt(i))]) {
+                i++;
+            }
+            if (i == word.length()) {
+                producible.add(word);
+            }
+        }
+        return producible;
+    }
+
+    /**
+     * Returns the root state of the automaton.
+     *
+     * @return The initial state.
+     */
+    @Override
+    public int initialState() {
+        return ROOT;
+    }
+
+    /**
+     * Advances the automaton by one character.
+     *
+     * @param state     The current state.
+     * @param candidate The character being considered.
+     * @return The next state, or {@link #REJECT} if the character completes a banned word.
+     */
+    @Override
+    public int next(int state, char candidate) {
+        return delta[state + symbolOf[candidate]];
+    }
+
+    /**
+     * Scans the whole text in a single pass.
+     *
+     * @param text The text to check.
+     * @return true if the text contains at least one banned word.
+     */
+    public boolean containsBannedWord(CharSequence text) {
+        int state = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            state = delta[state + symbolOf[text.charAt(i)]];
+            if (state == REJECT) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,311 @@
+package com.myfreeit.passwordgenerator.filter;
+
+/*
+ * Copyright (c) 2024, Denis Odesskiy. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of Denis Odesskiy
+ * ("Confidential Information"). You shall not disclose such Confidential Information
+ * and shall use it only in accordance with the terms of the license agreement you
+ * entered into with Denis Odesskiy.
+ */
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+/**
+ * A {@link PasswordFilter} that rejects passwords found in an offline breached-password corpus.
+ *
+ * <p>The corpus is a compact binary file produced by {@link #convert(Path, Path, HashAlgorithm)}
+ * from the usual text dump of {@code HASH[:COUNT]} lines sorted by hash. It holds a small
+ * header, a prefix index with the first record number for every 16-bit hash prefix, and
+ * the raw sorted digests. Everything is memory-mapped, so the checker keeps almost nothing
+ * on the heap and lets the operating system page the corpus in as needed.</p>
+ *
+ * <p>A lookup reads the bucket bounds for the digest's first two bytes from the index, then
+ * runs an interpolation search over the uniformly distributed digests in that bucket,
+ * falling back to bisection if interpolation does not converge quickly. A hit costs a
+ * handful of page accesses, i.e. low microseconds once the pages are warm.</p>
+ *
+ * <p>Instances are immutable and safe for concurrent use.</p>
+ *
+ * @author Denis Odesskiy
+ * @since 2024
+ */
+public final class BreachedPasswordChecker implements PasswordFilter {
+
+    private static final int MAGIC = 0x50574252; // "PWBR"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int PREFIX_BUCKETS = 1 << 16;
+    private static final int INDEX_SIZE = (PREFIX_BUCKETS + 1) * Long.BYTES;
+    private static final int RECORDS_SHIFT = 26;
+    private static final int RECORDS_PER_CHUNK = 1 << RECORDS_SHIFT;
+    private static final int MAX_INTERPOLATION_PROBES = 4;
+    private static final int LINEAR_SCAN_THRESHOLD = 8;
+
+    private final HashAlgorithm algorithm;
+    private final int recordSize;
+    private final long recordCount;
+    private final LongBuffer index;
+    private final MappedByteBuffer[] chunks;
+
+    private BreachedPasswordChecker(HashAlgorithm algorithm, long recordCount, LongBuffer index,
+                                    MappedByteBuffer[] chunks) {
+        this.algorithm = algorithm;
+        this.recordSize = algorithm.digestLength();
+        this.recordCount = recordCount;
+        this.index = index;
+        this.chunks = chunks;
+    }
+
+    /**
+     * Opens a binary corpus created by {@link #convert(Path, Path, HashAlgorithm)}.
+     *
+     * @param corpus The binary corpus file.
+     * @return A checker backed by the memory-mapped corpus.
+     * @throws IOException if the file cannot be read or is not a valid corpus.
+     */
+    public static BreachedPasswordChecker open(Path corpus) throws IOException {
+        try (FileChannel channel = FileChannel.open(corpus, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            if (channel.read(header, 0) != HEADER_SIZE) {
+                throw new IOException("Truncated breached-password corpus: " + corpus);
+            }
+            header.flip();
+            if (header.getInt() != MAGIC || header.get() != VERSION) {
+                throw new IOException("Not a breached-password corpus: " + corpus);
+            }
+            HashAlgorithm algorithm;
+            try {
+                algorithm = HashAlgorithm.forDigestLength(header.get());
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Unsupported breached-password corpus: " + corpus, e);
+            }
+            header.getShort();
+            long recordCount = header.getLong();
+            int recordSize = algorithm.digestLength();
+            long dataOffset = HEADER_SIZE + INDEX_SIZE;
+            if (recordCount < 0 || channel.size() != dataOffset + recordCount * recordSize) {
+                throw new IOException("Corrupt breached-password corpus: " + corpus);
+            }
+
+            LongBuffer index = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, INDEX_SIZE).asLongBuffer();
+            MappedByteBuffer[] chunks = new MappedByteBuffer[(int) ((recordCount + RECORDS_PER_CHUNK - 1) >>> RECORDS_SHIFT)];
+            for (int i = 0; i < chunks.length; i++) {
+                long first = (long) i << RECORDS_SHIFT;
+                long records = Math.min(RECORDS_PER_CHUNK, recordCount - first);
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, dataOffset + first * recordSize, records * recordSize);
+            }
+            return new BreachedPasswordChecker(algorithm, recordCount, index, chunks);
+        }
+    }
+
+    /**
+     * Converts a text dump of hex hashes, one per line and sorted by hash, into the binary
+     * format read by {@link #open(Path)}. Anything after a {@code :} on a line (such as the
+     * occurrence count) is ignored. The target is written to a temporary file and moved into
+     * place only when complete.
+     *
+     * @param textCorpus The sorted text dump.
+     * @param target     The binary corpus to create.
+     * @param algorithm  The hash algorithm used in the dump.
+     * @return The number of records written.
+     * @throws IOException if reading or writing fails, or the dump is malformed or unsorted.
+     */
+    public static long convert(Path textCorpus, Path target, HashAlgorithm algorithm) throws IOException {
+        int recordSize = algorithm.digestLength();
+        HexFormat hex = HexFormat.of();
+        long[] bucketStart = new long[PREFIX_BUCKETS + 1];
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        long records = 0;
+
+        try (BufferedReader reader = Files.newBufferedReader(textCorpus, StandardCharsets.US_ASCII);
+             FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            OutputStream stream = new BufferedOutputStream(Channels.newOutputStream(
+                    channel.position(HEADER_SIZE + INDEX_SIZE)), 1 << 16);
+            byte[] previous = null;
+            int bucket = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int end = line.indexOf(':');
+                String digestHex = (end < 0 ? line : line.substring(0, end)).strip();
+                if (digestHex.isEmpty()) {
+                    continue;
+                }
+                if (digestHex.length() != recordSize * 2) {
+                    throw new IOException("Unexpected hash length at record " + records + ": " + digestHex);
+                }
+                byte[] digest;
+                try {
+                    digest = hex.parseHex(digestHex);
+                } catch (IllegalArgumentException e) {
+                    throw new IOException("Malformed hash at record " + records + ": " + digestHex, e);
+                }
+                if (previous != null && Arrays.compareUnsigned(previous, digest) >= 0) {
+                    throw new IOException("Corpus is not sorted or contains duplicates at record " + records);
+                }
+                int prefix = prefixOf(digest);
+                while (bucket < prefix) {
+                    bucketStart[++bucket] = records;
+                }
+                stream.write(digest);
+                previous = digest;
+                records++;
+            }
+            while (bucket < PREFIX_BUCKETS) {
+                bucketStart[++bucket] = records;
+            }
+            stream.flush();
+
+            ByteBuffer head = ByteBuffer.allocate(HEADER_SIZE + INDEX_SIZE);
+            head.putInt(MAGIC).put((byte) VERSION).put((byte) recordSize).putShort((short) 0).putLong(records);
+            for (long start : bucketStart) {
+                head.putLong(start);
+            }
+            head.flip();
+            channel.write(head, 0);
+            channel.force(true);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return records;
+    }
+
+    /**
+     * Accepts the password only if its hash is not in the corpus.
+     *
+     * @param password The completed password.
+     * @return true if the password has not been breached.
+     */
+    @Override
+    public boolean accept(char[] password) {
+        return !isBreached(password);
+    }
+
+    /**
+     * Checks whether the password's hash is in the corpus.
+     *
+     * @param password The password to check.
+     * @return true if the password appears in the corpus.
+     */
+    public boolean isBreached(char[] password) {
+        return contains(algorithm.hash(password));
+    }
+
+    /**
+     * Checks whether a raw digest is in the corpus.
+     *
+     * @param digest The digest to look up, as produced by {@link #getAlgorithm()}.
+     * @return true if the digest appears in the corpus.
+     */
+    public boolean contains(byte[] digest) {
+        if (digest.length != recordSize) {
+            throw new IllegalArgumentException("Expected a " + recordSize + "-byte digest");
+        }
+        int prefix = prefixOf(digest);
+        long low = index.get(prefix);
+        long high = index.get(prefix + 1);
+        long key = leadingLong(digest);
+
+        // Interpolation probes on the leading 64 bits; digests are uniformly distributed.
+        for (int probe = 0; probe < MAX_INTERPOLATION_PROBES && high - low > LINEAR_SCAN_THRESHOLD; probe++) {
+            long lowKey = leadingLong(low);
+            long highKey = leadingLong(high - 1);
+            if (Long.compareUnsigned(key, lowKey) < 0 || Long.compareUnsigned(key, highKey) > 0) {
+                return false;
+            }
+            double fraction = highKey == lowKey ? 0.0
+                    : unsignedToDouble(key - lowKey) / unsignedToDouble(highKey - lowKey);
+            long mid = low + (long) (fraction * (high - 1 - low));
+            int comparison = compare(mid, digest);
+            if (comparison == 0) {
+                return true;
+            } else if (comparison < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        // Bisection for whatever range is left.
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            int comparison = compare(mid, digest);
+            if (comparison == 0) {
+                return true;
+            } else if (comparison < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the hash algorithm of the corpus.
+     *
+     * @return The hash algorithm.
+     */
+    public HashAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * Returns the number of hashes in the corpus.
+     *
+     * @return The record count.
+     */
+    public long size() {
+        return recordCount;
+    }
+
+    private static int prefixOf(byte[] digest) {
+        return (digest[0] & 0xff) << 8 | (digest[1] & 0xff);
+    }
+
+    private static long leadingLong(byte[] digest) {
+        return ByteBuffer.wrap(digest).getLong();
+    }
+
+    private long leadingLong(long record) {
+        return chunks[(int) (record >>> RECORDS_SHIFT)].getLong((int) (record & (RECORDS_PER_CHUNK - 1)) * recordSize);
+    }
+
+    /**
+     * Compares the stored record with the digest as unsigned bytes.
+     */
+    private int compare(long record, byte[] digest) {
+        ByteBuffer chunk = chunks[(int) (record >>> RECORDS_SHIFT)];
+        int offset = (int) (record & (RECORDS_PER_CHUNK - 1)) * recordSize;
+        for (int i = 0; i < recordSize; i++) {
+            int comparison = Integer.compare(chunk.get(offset + i) & 0xff, digest[i] & 0xff);
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return 0;
+    }
+
+    private static double unsignedToDouble(long value) {
+        double result = (double) (value >>> 1) * 2.0;
+        return result + (value & 1);
+    }
+}
@@ -0,0 +1,114 @@
+package com.myfreeit.passwordgenerator.filter;
+
+/*
+ * Copyright (c) 2024, Denis Odesskiy. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of Denis Odesskiy
+ * ("Confidential Information"). You shall not disclose such Confidential Information
+ * and shall use it only in accordance with the terms of the license agreement you
+ * entered into with Denis Odesskiy.
+ */
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * Enum of the unsalted password hashes used by breached-password corpora.
+ *
+ * <ul>
+ *   <li>{@link #SHA1} - SHA-1 of the UTF-8 encoded password.</li>
+ *   <li>{@link #NTLM} - MD4 of the UTF-16LE encoded password.</li>
+ * </ul>
+ *
+ * @author Denis Odesskiy
+ * @since 2024
+ */
+public enum HashAlgorithm {
+
+    /**
+     * SHA-1 over the UTF-8 encoding of the password.
+     */
+    SHA1(20) {
+        private final ThreadLocal<MessageDigest> digest = ThreadLocal.withInitial(() -> {
+            try {
+                return MessageDigest.getInstance("SHA-1");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-1 is not available", e);
+            }
+        });
+
+        @Override
+        public byte[] hash(char[] password) {
+            ByteBuffer encoded = StandardCharsets.UTF_8.encode(CharBuffer.wrap(password));
+            try {
+                MessageDigest sha1 = digest.get();
+                sha1.update(encoded);
+                return sha1.digest();
+            } finally {
+                Arrays.fill(encoded.array(), (byte) 0);
+            }
+        }
+    },
+
+    /**
+     * NTLM, that is MD4 over the UTF-16LE encoding of the password.
+     */
+    NTLM(16) {
+        @Override
+        public byte[] hash(char[] password) {
+            byte[] encoded = new byte[password.length * 2];
+            for (int i = 0; i < password.length; i++) {
+                encoded[2 * i] = (byte) password[i];
+                encoded[2 * i + 1] = (byte) (password[i] >>> 8);
+            }
+            try {
+                return Md4.digest(encoded);
+            } finally {
+                Arrays.fill(encoded, (byte) 0);
+            }
+        }
+    };
+
+    private final int digestLength;
+
+    HashAlgorithm(int digestLength) {
+        this.digestLength = digestLength;
+    }
+
+    /**
+     * Returns the length of the hash in bytes.
+     *
+     * @return The digest length.
+     */
+    public int digestLength() {
+        return digestLength;
+    }
+
+    /**
+     * Hashes the password.
+     *
+     * @param password The password to hash.
+     * @return The raw digest, {@link #digestLength()} bytes long.
+     */
+    public abstract byte[] hash(char[] password);
+
+    /**
+     * Returns the algorithm whose digest has the given length.
+     *
+     * @param digestLength The digest length in bytes.
+     * @return The matching algorithm.
+     * @throws IllegalArgumentException if no algorithm produces digests of that length.
+     */
+    static HashAlgorithm forDigestLength(int digestLength) {
+        for (HashAlgorithm algorithm : values()) {
+            if (algorithm.digestLength == digestLength) {
+                return algorithm;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported digest length: " + digestLength);
+    }
+}
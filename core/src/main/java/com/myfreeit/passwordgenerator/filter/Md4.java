@@ -0,0 +1,101 @@
+package com.myfreeit.passwordgenerator.filter;
+
+/*
+ * Copyright (c) 2024, Denis Odesskiy. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of Denis Odesskiy
+ * ("Confidential Information"). You shall not disclose such Confidential Information
+ * and shall use it only in accordance with the terms of the license agreement you
+ * entered into with Denis Odesskiy.
+ */
+
+import java.util.Arrays;
+
+/**
+ * Minimal MD4 implementation (RFC 1320) used only to compute NTLM hashes.
+ *
+ * <p>MD4 is not offered by the standard JCA providers, and it must never be used for
+ * anything but matching existing NTLM hashes.</p>
+ *
+ * @author Denis Odesskiy
+ * @since 2024
+ */
+final class Md4 {
+
+    private Md4() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Computes the MD4 digest of the input.
+     *
+     * @param input The bytes to hash.
+     * @return The 16-byte digest.
+     */
+    static byte[] digest(byte[] input) {
+        int blocks = (input.length + 8) / 64 + 1;
+        byte[] padded = new byte[blocks * 64];
+        System.arraycopy(input, 0, padded, 0, input.length);
+        padded[input.length] = (byte) 0x80;
+        long bits = (long) input.length * 8;
+        for (int i = 0; i < 8; i++) {
+            padded[padded.length - 8 + i] = (byte) (bits >>> (8 * i));
+        }
+
+        int a = 0x67452301;
+        int b = 0xefcdab89;
+        int c = 0x98badcfe;
+        int d = 0x10325476;
+        int[] x = new int[16];
+        for (int block = 0; block < blocks; block++) {
+            for (int i = 0; i < 16; i++) {
+                int offset = block * 64 + i * 4;
+                x[i] = (padded[offset] & 0xff) | (padded[offset + 1] & 0xff) << 8
+                        | (padded[offset + 2] & 0xff) << 16 | (padded[offset + 3] & 0xff) << 24;
+            }
+            int aa = a;
+            int bb = b;
+            int cc = c;
+            int dd = d;
+
+            // Round 1.
+            for (int i = 0; i < 16; i += 4) {
+                a = Integer.rotateLeft(a + ((b & c) | (~b & d)) + x[i], 3);
+                d = Integer.rotateLeft(d + ((a & b) | (~a & c)) + x[i + 1], 7);
+                c = Integer.rotateLeft(c + ((d & a) | (~d & b)) + x[i + 2], 11);
+                b = Integer.rotateLeft(b + ((c & d) | (~c & a)) + x[i + 3], 19);
+            }
+            // Round 2.
+            for (int i = 0; i < 4; i++) {
+                a = Integer.rotateLeft(a + ((b & c) | (b & d) | (c & d)) + x[i] + 0x5a827999, 3);
+                d = Integer.rotateLeft(d + ((a & b) | (a & c) | (b & c)) + x[i + 4] + 0x5a827999, 5);
+                c = Integer.rotateLeft(c + ((d & a) | (d & b) | (a & b)) + x[i + 8] + 0x5a827999, 9);
+                b = Integer.rotateLeft(b + ((c & d) | (c & a) | (d & a)) + x[i + 12] + 0x5a827999, 13);
+            }
+            // Round 3.
+            int[] order = {0, 2, 1, 3};
+            for (int i : order) {
+                a = Integer.rotateLeft(a + (b ^ c ^ d) + x[i] + 0x6ed9eba1, 3);
+                d = Integer.rotateLeft(d + (a ^ b ^ c) + x[i + 8] + 0x6ed9eba1, 9);
+                c = Integer.rotateLeft(c + (d ^ a ^ b) + x[i + 4] + 0x6ed9eba1, 11);
+                b = Integer.rotateLeft(b + (c ^ d ^ a) + x[i + 12] + 0x6ed9eba1, 15);
+            }
+
+            a += aa;
+            b += bb;
+            c += cc;
+            d += dd;
+        }
+        Arrays.fill(padded, (byte) 0);
+        Arrays.fill(x, 0);
+
+        byte[] digest = new byte[16];
+        int[] state = {a, b, c, d};
+        for (int i = 0; i < 4; i++) {
+            for (int j = 0; j < 4; j++) {
+                digest[i * 4 + j] = (byte) (state[i] >>> (8 * j));
+            }
+        }
+        return digest;
+    }
+}
@@ -0,0 +1,46 @@
+package com.myfreeit.passwordgenerator.filter;
+
+/*
+ * Copyright (c) 2024, Denis Odesskiy. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of Denis Odesskiy
+ * ("Confidential Information"). You shall not disclose such Confidential Information
+ * and shall use it only in accordance with the terms of the license agreement you
+ * entered into with Denis Odesskiy.
+ */
+
+/**
+ * A character-by-character constraint on generated passwords, expressed as a state machine.
+ *
+ * <p>The generator starts from {@link #initialState()} and feeds each candidate character to
+ * {@link #next(int, char)}. A result of {@link #REJECT} means the candidate would violate the
+ * constraint and must be redrawn; any other value is the state to continue from. Because the
+ * whole state fits in an {@code int}, implementations can be shared between threads as long
+ * as they are immutable.</p>
+ *
+ * @author Denis Odesskiy
+ * @since 2024
+ */
+public interface PasswordConstraint {
+
+    /**
+     * The state returned by {@link #next(int, char)} when a character is rejected.
+     */
+    int REJECT = -1;
+
+    /**
+     * Returns the state before any character has been generated.
+     *
+     * @return The initial state.
+     */
+    int initialState();
+
+    /**
+     * Returns the state after appending the candidate character.
+     *
+     * @param state     The current state, never {@link #REJECT}.
+     * @param candidate The character being considered.
+     * @return The next state, or {@link #REJECT} if the character is not allowed here.
+     */
+    int next(int state, char candidate);
+}
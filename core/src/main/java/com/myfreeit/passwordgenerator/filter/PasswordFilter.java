@@ -0,0 +1,32 @@
+package com.myfreeit.passwordgenerator.filter;
+
+/*
+ * Copyright (c) 2024, Denis Odesskiy. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of Denis Odesskiy
+ * ("Confidential Information"). You shall not disclose such Confidential Information
+ * and shall use it only in accordance with the terms of the license agreement you
+ * entered into with Denis Odesskiy.
+ */
+
+/**
+ * A rejection stage applied to each completed password.
+ *
+ * <p>Unlike a {@link PasswordConstraint}, which is consulted character by character, a filter
+ * sees the whole password once it has been generated. A rejected password is wiped and
+ * generated again from scratch.</p>
+ *
+ * @author Denis Odesskiy
+ * @since 2024
+ */
+@FunctionalInterface
+public interface PasswordFilter {
+
+    /**
+     * Decides whether the password may be handed out.
+     *
+     * @param password The completed password. Implementations must not modify or retain it.
+     * @return true if the password is acceptable; false to have it regenerated.
+     */
+    boolean accept(char[] password);
+}
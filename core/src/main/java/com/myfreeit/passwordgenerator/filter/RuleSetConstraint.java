@@ -0,0 +1,390 @@
+package com.myfreeit.passwordgenerator.filter;
+
+/*
+ * Copyright (c) 2024, Denis Odesskiy. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of Denis Odesskiy
+ * ("Confidential Information"). You shall not disclose such Confidential Information
+ * and shall use it only in accordance with the terms of the license agreement you
+ * entered into with Denis Odesskiy.
+ */
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A {@link PasswordConstraint} built from a declarative set of pattern rules, such as
+ * forbidding repeated characters or keyboard walks.
+ *
+ * <p>Rules are given one per line:</p>
+ * <pre>
+ * # Comments and blank lines are ignored.
+ * forbid-repeat 3            # "aaa", "111"
+ * forbid-keyboard-walk 3     # "qwe", "poi", "ASD", "!@#" on a US QWERTY layout
+ * forbid-descending-run 3    # "cba", "321"
+ * forbid-ascending-run 3     # "abc", "123"
+ * forbid-look-alike l1I O0   # two different characters of one group next to each other
+ * </pre>
+ *
+ * <p>A {@code #} only starts a comment at the beginning of a line or after whitespace, so it can
+ * be used inside a rule argument, e.g. {@code forbid-look-alike H#}.</p>
+ *
+ * <p>All rules are compiled together into a single deterministic automaton. Each rule is first
+ * modelled as a small state machine of its own; the compiler then explores every reachable
+ * combination of rule states and numbers them, producing one dense transition table. As in
+ * {@link BannedSubstringFilter}, states are pre-multiplied row offsets and forbidden transitions
+ * point at {@link #REJECT}, so checking a candidate is one array lookup however many rules are
+ * active.</p>
+ *
+ * <p>The rules track the printable ASCII characters {@code '!'} to {@code '~'}, which cover
+ * every character the generator emits. Any other character breaks all patterns.</p>
+ *
+ * @author Denis Odesskiy
+ * @since 2024
+ */
+public final class RuleSetConstraint implements PasswordConstraint {
+
+    private static final int FIRST_TRACKED = '!';
+    private static final int LAST_TRACKED = '~';
+    /**
+     * Symbol 0 stands for all untracked characters; tracked characters get one symbol each.
+     */
+    private static final int SYMBOLS = LAST_TRACKED - FIRST_TRACKED + 2;
+    private static final int MAX_STATES = Integer.MAX_VALUE / SYMBOLS;
+    private static final int ROOT = 0;
+
+    /**
+     * The US QWERTY rows, unshifted and shifted, used to detect keyboard walks.
+     */
+    private static final String[] KEYBOARD_ROWS = {
+            "`1234567890-=", "qwertyuiop[]\\", "asdfghjkl;'", "zxcvbnm,./"
+    };
+    private static final String[] SHIFTED_KEYBOARD_ROWS = {
+            "~!@#$%^&*()_+", "QWERTYUIOP{}|", "ASDFGHJKL:\"", "ZXCVBNM<>?"
+    };
+
+    private final int[] delta;
+    private final int stateCount;
+
+    private RuleSetConstraint(int[] delta, int stateCount) {
+        this.delta = delta;
+        this.stateCount = stateCount;
+    }
+
+    /**
+     * Returns the rule set recommended for generated passwords: no triple repeats, no keyboard
+     * walks or descending runs of three, and no adjacent look-alikes among {@code l}, {@code 1},
+     * {@code I} and {@code |}, or {@code O} and {@code 0}.
+     *
+     * @return The compiled default rule set.
+     */
+    public static RuleSetConstraint defaults() {
+        return compile(List.of(
+                "forbid-repeat 3",
+                "forbid-keyboard-walk 3",
+                "forbid-descending-run 3",
+                "forbid-look-alike l1I| O0"));
+    }
+
+    /**
+     * Loads a UTF-8 rule file with one rule per line.
+     *
+     * @param ruleFile The rule file.
+     * @return The compiled rule set.
+     * @throws IOException if the file cannot be read.
+     * @throws IllegalArgumentException if a rule is malformed.
+     */
+    public static RuleSetConstraint load(Path ruleFile) throws IOException {
+        return compile(Files.readAllLines(ruleFile, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Compiles the given rules into a single automaton.
+     *
+     * @param rules The rules, one per entry; blank entries and {@code #} comments are ignored.
+     * @return The compiled rule set.
+     * @throws IllegalArgumentException if a rule is malformed or the automaton would be too large.
+     */
+    public static RuleSetConstraint compile(Iterable<String> rules) {
+        List<Rule> parsed = new ArrayList<>();
+        for (String line : rules) {
+            String rule = stripComment(line).strip();
+            if (!rule.isEmpty()) {
+                parsed.add(parse(rule));
+            }
+        }
+        return build(parsed.toArray(new Rule[0]));
+    }
+
+    /**
+     * Returns the number of states of the compiled automaton.
+     *
+     * @return The state count.
+     */
+    public int getStateCount() {
+        return stateCount;
+    }
+
+    /**
+     * Returns the start state of the automaton.
+     *
+     * @return The initial state.
+     */
+    @Override
+    public int initialState() {
+        return ROOT;
+    }
+
+    /**
+     * Advances the automaton by one character.
+     *
+     * @param state     The current state.
+     * @param candidate The character being considered.
+     * @return The next state, or {@link #REJECT} if the character would break a rule.
+     */
+    @Override
+    public int next(int state, char candidate) {
+        return delta[state + symbolOf(candidate)];
+    }
+
+    /**
+     * Checks a whole text against the rules.
+     *
+     * @param text The text to check.
+     * @return true if the text breaks at least one rule.
+     */
+    public boolean isViolatedBy(CharSequence text) {
+        int state = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            state = delta[state + symbolOf(text.charAt(i))];
+            if (state == REJECT) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes a trailing comment: a {@code #} at the start of the line or after whitespace.
+     */
+    private static String stripComment(String line) {
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == '#' && (i == 0 || Character.isWhitespace(line.charAt(i - 1)))) {
+                return line.substring(0, i);
+            }
+        }
+        return line;
+    }
+
+    private static int symbolOf(char c) {
+        return c >= FIRST_TRACKED && c <= LAST_TRACKED ? c - FIRST_TRACKED + 1 : 0;
+    }
+
+    private static Rule parse(String rule) {
+        String[] parts = rule.split("\\s+");
+        String name = parts[0].toLowerCase(Locale.ROOT);
+        if ("forbid-look-alike".equals(name)) {
+            if (parts.length < 2) {
+                throw new IllegalArgumentException("forbid-look-alike needs at least one group: " + rule);
+            }
+            return new LookAlikeRule(Arrays.copyOfRange(parts, 1, parts.length));
+        }
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Expected a rule name and a length: " + rule);
+        }
+        int length;
+        try {
+            length = Integer.parseInt(parts[1]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid length in rule: " + rule);
+        }
+        if (length < 2 || length > 255) {
+            throw new IllegalArgumentException("Length must be between 2 and 255: " + rule);
+        }
+        return switch (name) {
+            case "forbid-repeat" -> new RunRule(length, 0);
+            case "forbid-ascending-run" -> new RunRule(length, 1);
+            case "forbid-descending-run" -> new RunRule(length, -1);
+            case "forbid-keyboard-walk" -> new KeyboardWalkRule(length);
+            default -> throw new IllegalArgumentException("Unknown rule: " + rule);
+        };
+    }
+
+    /**
+     * Explores every reachable combination of rule states breadth-first and numbers them.
+     */
+    private static RuleSetConstraint build(Rule[] rules) {
+        Map<List<Integer>, Integer> ids = new HashMap<>();
+        List<int[]> states = new ArrayList<>();
+        int[] initial = new int[rules.length];
+        ids.put(key(initial), ROOT);
+        states.add(initial);
+
+        int[] table = new int[SYMBOLS * 64];
+        for (int id = 0; id < states.size(); id++) {
+            int[] current = states.get(id);
+            for (int symbol = 0; symbol < SYMBOLS; symbol++) {
+                int c = symbol == 0 ? Rule.UNTRACKED : symbol - 1 + FIRST_TRACKED;
+                int[] next = new int[rules.length];
+                boolean rejected = false;
+                for (int r = 0; r < rules.length && !rejected; r++) {
+                    next[r] = rules[r].next(current[r], c);
+                    rejected = next[r] == REJECT;
+                }
+                int target;
+                if (rejected) {
+                    target = REJECT;
+                } else {
+                    List<Integer> key = key(next);
+                    Integer known = ids.get(key);
+                    if (known == null) {
+                        if (states.size() == MAX_STATES) {
+                            throw new IllegalArgumentException("Rule set is too large to compile");
+                        }
+                        known = states.size();
+                        ids.put(key, known);
+                        states.add(next);
+                    }
+                    target = known * SYMBOLS;
+                }
+                int slot = id * SYMBOLS + symbol;
+                if (slot >= table.length) {
+                    table = Arrays.copyOf(table, (int) Math.min((long) table.length * 2, Integer.MAX_VALUE - 8));
+                }
+                table[slot] = target;
+            }
+        }
+        return new RuleSetConstraint(Arrays.copyOf(table, states.size() * SYMBOLS), states.size());
+    }
+
+    private static List<Integer> key(int[] ruleStates) {
+        List<Integer> key = new ArrayList<>(ruleStates.length);
+        for (int state : ruleStates) {
+            key.add(state);
+        }
+        return key;
+    }
+
+    /**
+     * A single rule as a small state machine over characters. State 0 means "no pattern in
+     * progress"; every state must be non-negative and the set of reachable states finite.
+     */
+    private interface Rule {
+
+        /**
+         * The character value passed for characters the rules do not track.
+         */
+        int UNTRACKED = -1;
+
+        int next(int state, int c);
+    }
+
+    /**
+     * Forbids {@code length} characters in a row whose codes each differ from the previous one by
+     * {@code step}: 0 for repeats, 1 for ascending runs and -1 for descending runs.
+     * The state packs the previous character and the current run length.
+     */
+    private static final class RunRule implements Rule {
+
+        private final int length;
+        private final int step;
+
+        RunRule(int length, int step) {
+            this.length = length;
+            this.step = step;
+        }
+
+        @Override
+        public int next(int state, int c) {
+            if (c == UNTRACKED) {
+                return 0;
+            }
+            int previous = state >>> 8;
+            int run = previous != 0 && c - previous == step ? (state & 0xFF) + 1 : 1;
+            return run >= length ? REJECT : c << 8 | run;
+        }
+    }
+
+    /**
+     * Forbids {@code length} keys in a row that are neighbours in the same keyboard row, walking
+     * in one direction. Shifted characters count as their key, so walks are case-insensitive.
+     * The state packs the previous key, the walk direction and the walk length.
+     */
+    private static final class KeyboardWalkRule implements Rule {
+
+        private static final int[] KEY_OF = new int[LAST_TRACKED + 1];
+
+        static {
+            Arrays.fill(KEY_OF, -1);
+            for (int row = 0; row < KEYBOARD_ROWS.length; row++) {
+                for (int column = 0; column < KEYBOARD_ROWS[row].length(); column++) {
+                    KEY_OF[KEYBOARD_ROWS[row].charAt(column)] = row << 4 | column;
+                    KEY_OF[SHIFTED_KEYBOARD_ROWS[row].charAt(column)] = row << 4 | column;
+                }
+            }
+        }
+
+        private final int length;
+
+        KeyboardWalkRule(int length) {
+            this.length = length;
+        }
+
+        @Override
+        public int next(int state, int c) {
+            int key = c == UNTRACKED ? -1 : KEY_OF[c];
+            if (key < 0) {
+                return 0;
+            }
+            int walk = 1;
+            int direction = 0;
+            if (state != 0) {
+                int previous = (state >>> 16) - 1;
+                int step = key - previous;
+                if ((key >>> 4) == (previous >>> 4) && Math.abs(step) == 1) {
+                    direction = step + 2;
+                    int previousDirection = (state >>> 8) & 0xFF;
+                    walk = previousDirection == direction || previousDirection == 0 ? (state & 0xFF) + 1 : 2;
+                }
+            }
+            return walk >= length ? REJECT : (key + 1) << 16 | direction << 8 | walk;
+        }
+    }
+
+    /**
+     * Forbids two different characters of the same look-alike group next to each other.
+     * The state is the previous character if it belongs to a group.
+     */
+    private static final class LookAlikeRule implements Rule {
+
+        private final int[] groupOf = new int[LAST_TRACKED + 1];
+
+        LookAlikeRule(String[] groups) {
+            for (int g = 0; g < groups.length; g++) {
+                for (char c : groups[g].toCharArray()) {
+                    if (c < FIRST_TRACKED || c > LAST_TRACKED) {
+                        throw new IllegalArgumentException("Look-alike groups may only contain printable ASCII: "
+                                + groups[g]);
+                    }
+                    groupOf[c] = g + 1;
+                }
+            }
+        }
+
+        @Override
+        public int next(int state, int c) {
+            if (c == UNTRACKED || groupOf[c] == 0) {
+                return 0;
+            }
+            return state != 0 && state != c && groupOf[state] == groupOf[c] ? REJECT : c;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.myfreeit.passwordgenerator.history;
+
+/*
+ * Copyright (c) 2024, Denis Odesskiy. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of Denis Odesskiy
+ * ("Confidential Information"). You shall not disclose such Confidential Information
+ * and shall use it only in accordance with the terms of the license agreement you
+ * entered into with Denis Odesskiy.
+ */
+
+/**
+ * An open-addressing hash set of 64-bit fingerprints stored in plain {@code long[]} tables.
+ *
+ * <p>The set is split into a power-of-two number of shards selected by the top bits of the
+ * fingerprint, so it can grow past the size limit of a single Java array and each resize only
+ * rehashes one shard. Within a shard, slots are probed linearly starting at the low bits of
+ * the fingerprint and {@code 0} marks an empty slot; the fingerprint {@code 0} itself is
+ * remapped by the caller. With the load factor capped at one half a lookup touches one or
+ * two cache lines on average.</p>
+ *
+ * <p>This class is not thread-safe; {@link IssuedPasswordHistory} guards it with its own lock.</p>
+ *
+ * @author Denis Odesskiy
+ * @since 2024
+ */
+final class FingerprintIndex {
+
+    private static final int SHARD_BITS = 8;
+    private static final int INITIAL_SHARD_CAPACITY = 1 << 10;
+    private static final int MAX_SHARD_CAPACITY = 1 << 30;
+
+    private final long[][] shards = new long[1 << SHARD_BITS][];
+    private final int[] sizes = new int[1 << SHARD_BITS];
+    private long size;
+
+    FingerprintIndex() {
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new long[INITIAL_SHARD_CAPACITY];
+        }
+    }
+
+    /**
+     * Checks whether the fingerprint is present.
+     *
+     * @param fingerprint a non-zero fingerprint.
+     * @return true if the fingerprint has been added before.
+     */
+    boolean contains(long fingerprint) {
+        long[] table = shards[shardOf(fingerprint)];
+        int mask = table.length - 1;
+        for (int slot = (int) fingerprint & mask; ; slot = (slot + 1) & mask) {
+            long current = table[slot];
+            if (current == fingerprint) {
+                return true;
+            }
+            if (current == 0) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Adds the fingerprint unless it is already present.
+     *
+     * @param fingerprint a non-zero fingerprint.
+     * @return true if the fingerprint was added; false if it was already present.
+     */
+    boolean add(long fingerprint) {
+        int shard = shardOf(fingerprint);
+        if (!insert(shards[shard], fingerprint)) {
+            return false;
+        }
+        size++;
+        if (++sizes[shard] > shards[shard].length >>> 1) {
+            grow(shard);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of fingerprints in the set.
+     *
+     * @return the size.
+     */
+    long size() {
+        return size;
+    }
+
+    private static int shardOf(long fingerprint) {
+        return (int) (fingerprint >>> (Long.SIZE - SHARD_BITS));
+    }
+
+    private static boolean insert(long[] table, long fingerprint) {
+        int mask = table.length - 1;
+        for (int slot = (int) fingerprint & mask; ; slot = (slot + 1) & mask) {
+            long current = table[slot];
+            if (current == fingerprint) {
+                return false;
+            }
+            if (current == 0) {
+                table[slot] = fingerprint;
+                return true;
+            }
+        }
+    }
+
+    private void grow(int shard) {
+        long[] old = shards[shard];
+        if (old.length == MAX_SHARD_CAPACITY) {
+            throw new IllegalStateException("Issued-password index shard is full");
+        }
+        long[] table = new long[old.length << 1];
+        for (long fingerprint : old) {
+            if (fingerprint != 0) {
+                insert(table, fingerprint);
+            }
+        }
+        shards[shard] = table;
+    }
+}
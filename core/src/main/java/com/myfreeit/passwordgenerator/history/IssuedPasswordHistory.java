@@ -0,0 +1,669 @@
+package com.myfreeit.passwordgenerator.history;
+
+/*
+ * Copyright (c) 2024, Denis Odesskiy. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of Denis Odesskiy
+ * ("Confidential Information"). You shall not disclose such Confidential Information
+ * and shall use it only in accordance with the terms of the license agreement you
+ * entered into with Denis Odesskiy.
+ */
+
+import com.myfreeit.passwordgenerator.RandomSources;
+import com.myfreeit.passwordgenerator.filter.PasswordFilter;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * A persistent record of every password handed out, used to guarantee that no password is
+ * ever issued twice, even across restarts.
+ *
+ * <p>Each password is reduced to a 64-bit fingerprint, the leading bytes of a SHA-256 over a
+ * per-store random salt and the password, so the store never contains anything that can be
+ * reversed or matched against other systems. Fingerprints are appended to a segmented log in
+ * the store directory and kept in an in-memory open-addressing {@code long[]} index, so a
+ * check is O(1) regardless of how many passwords have been issued.</p>
+ *
+ * <p>The store directory contains:</p>
+ * <ul>
+ *   <li>{@code lock} - locked while a store is open, so that only one process uses the directory.</li>
+ *   <li>{@code salt} - the random salt, created on first use.</li>
+ *   <li>{@code segment-N.log} - append-only segments of 12-byte records, a fingerprint
+ *       followed by its CRC32C.</li>
+ *   <li>{@code base-N.idx} - the sorted, de-duplicated fingerprints of all segments up to
+ *       and including {@code N}, written by compaction.</li>
+ * </ul>
+ *
+ * <p>Once enough segments have been sealed, a background thread merges them into a new base
+ * file. Every file is written to a temporary name, forced to disk and atomically renamed, so
+ * a crash at any point leaves either the old or the new state. A record that cannot be written
+ * completely, e.g. on a full disk, is cut off the active segment again before the error is
+ * reported, so later records stay aligned.</p>
+ *
+ * <p>On open, leftovers are removed and the invalid records at the end of the newest segment,
+ * the one that was being written, are truncated: a torn record, or without {@code syncOnWrite}
+ * any number of records the operating system had not yet written when the machine crashed.
+ * A damaged record anywhere else, including one followed by intact records in the newest
+ * segment, means the store is corrupt, and opening it fails rather than silently forgetting
+ * the passwords recorded after it. The store therefore cannot recover if a crash persisted a
+ * later page of the newest segment but not an earlier one. Compaction also verifies every
+ * record, so a damaged one is never merged into a base file.</p>
+ *
+ * <p>Instances are thread-safe. Memory use is about 16 bytes per issued password.</p>
+ *
+ * @author Denis Odesskiy
+ * @since 2024
+ */
+public final class IssuedPasswordHistory implements PasswordFilter, Closeable {
+
+    private static final System.Logger LOGGER = System.getLogger(IssuedPasswordHistory.class.getName());
+    private static final String LOCK_FILE = "lock";
+    private static final String SALT_FILE = "salt";
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String BASE_PREFIX = "base-";
+    private static final String BASE_SUFFIX = ".idx";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final int SALT_LENGTH = 16;
+    private static final int RECORD_SIZE = Long.BYTES + Integer.BYTES;
+    private static final int BASE_MAGIC = 0x50574842; // "PWHB"
+    private static final int BASE_HEADER_SIZE = Integer.BYTES + Long.BYTES;
+    private static final long SEGMENT_RECORDS = 1 << 20;
+    private static final int COMPACTION_THRESHOLD = 8;
+
+    private final Path directory;
+    private final boolean syncOnWrite;
+    private final SegmentOpener segmentOpener;
+    private final byte[] salt;
+    private final FileChannel lockChannel;
+    private final FingerprintIndex index = new FingerprintIndex();
+    private final ThreadLocal<MessageDigest> digest = ThreadLocal.withInitial(IssuedPasswordHistory::newDigest);
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "issued-password-history-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+    private final CRC32C crc = new CRC32C();
+    private final List<Long> sealedSegments = new ArrayList<>();
+    private FileChannel activeSegment;
+    private long activeSegmentId;
+    private long activeRecords;
+    private boolean compactionPending;
+    private boolean closed;
+    private IOException writeFailure;
+
+    private IssuedPasswordHistory(Path directory, boolean syncOnWrite, SegmentOpener segmentOpener, byte[] salt,
+                                  FileChannel lockChannel) {
+        this.directory = directory;
+        this.syncOnWrite = syncOnWrite;
+        this.segmentOpener = segmentOpener;
+        this.salt = salt;
+        this.lockChannel = lockChannel;
+    }
+
+    /**
+     * Opens or creates a store that forces every record to disk before it is acknowledged.
+     *
+     * @param directory The store directory.
+     * @return The opened store.
+     * @throws IOException if the store cannot be read or recovered.
+     */
+    public static IssuedPasswordHistory open(Path directory) throws IOException {
+        return open(directory, true);
+    }
+
+    /**
+     * Opens or creates a store.
+     *
+     * @param directory   The store directory.
+     * @param syncOnWrite If true, every record is forced to disk before {@link #record(char[])}
+     *                    returns; if false, records reach the disk when the operating system
+     *                    flushes them, on {@link #flush()} or on {@link #close()}.
+     * @return The opened store.
+     * @throws IOException if the store is already open, is corrupt or cannot be read or recovered.
+     */
+    public static IssuedPasswordHistory open(Path directory, boolean syncOnWrite) throws IOException {
+        return open(directory, syncOnWrite, path -> FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND));
+    }
+
+    /**
+     * Opens or creates a store whose segments are opened for appending by the given opener.
+     */
+    static IssuedPasswordHistory open(Path directory, boolean syncOnWrite, SegmentOpener segmentOpener)
+            throws IOException {
+        Files.createDirectories(directory);
+        FileChannel lockChannel = lock(directory);
+        try {
+            IssuedPasswordHistory history = new IssuedPasswordHistory(directory, syncOnWrite, segmentOpener,
+                    loadSalt(directory), lockChannel);
+            history.recover();
+            return history;
+        } catch (IOException | RuntimeException e) {
+            lockChannel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Locks the store directory for this process. Closing the returned channel releases the lock.
+     */
+    private static FileChannel lock(Path directory) throws IOException {
+        FileChannel channel = FileChannel.open(directory.resolve(LOCK_FILE), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE);
+        FileLock lock;
+        try {
+            lock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        if (lock == null) {
+            channel.close();
+            throw new IOException("Issued-password history is already open: " + directory);
+        }
+        return channel;
+    }
+
+    /**
+     * Accepts the password only if it has never been issued, and records it as issued.
+     * Since accepting is what records the password, the history should be the last filter
+     * given to the {@link com.myfreeit.passwordgenerator.Model}.
+     *
+     * @param password The completed password.
+     * @return true if the password is new and has now been recorded.
+     * @throws UncheckedIOException if the record cannot be written.
+     */
+    @Override
+    public boolean accept(char[] password) {
+        try {
+            return record(password);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Checks whether the password has been issued before.
+     *
+     * @param password The password to check.
+     * @return true if the password has already been recorded.
+     */
+    public boolean contains(char[] password) {
+        long fingerprint = fingerprint(password);
+        synchronized (this) {
+            return index.contains(fingerprint);
+        }
+    }
+
+    /**
+     * Records the password as issued unless it already was.
+     *
+     * @param password The password to record.
+     * @return true if the password was new; false if it had already been issued.
+     * @throws IOException if the record cannot be written. The password is then not recorded.
+     */
+    public boolean record(char[] password) throws IOException {
+        long fingerprint = fingerprint(password);
+        synchronized (this) {
+            if (closed) {
+                throw new IOException("Issued-password history is closed");
+            }
+            if (writeFailure != null) {
+                throw new IOException("Issued-password history is unusable after a failed write; reopen it",
+                        writeFailure);
+            }
+            if (index.contains(fingerprint)) {
+                return false;
+            }
+            crc.reset();
+            record.clear();
+            record.putLong(fingerprint);
+            crc.update(record.array(), 0, Long.BYTES);
+            record.putInt((int) crc.getValue());
+            record.flip();
+            try {
+                while (record.hasRemaining()) {
+                    activeSegment.write(record);
+                }
+                if (syncOnWrite) {
+                    activeSegment.force(false);
+                }
+            } catch (IOException e) {
+                discardPartialRecord(e);
+                throw e;
+            }
+            index.add(fingerprint);
+            if (++activeRecords == SEGMENT_RECORDS) {
+                rollSegment();
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Cuts a record that was not written completely off the active segment, so that the next
+     * record starts at a record boundary again. If even that fails, the store refuses further
+     * records; reopening it truncates the torn tail.
+     *
+     * @param failure the error of the failed write, to which a failure to truncate is added.
+     */
+    private void discardPartialRecord(IOException failure) {
+        try {
+            activeSegment.truncate(activeRecords * RECORD_SIZE);
+        } catch (IOException e) {
+            failure.addSuppressed(e);
+            writeFailure = failure;
+        }
+    }
+
+    /**
+     * Returns the number of distinct passwords recorded.
+     *
+     * @return The number of issued passwords.
+     */
+    public synchronized long size() {
+        return index.size();
+    }
+
+    /**
+     * Forces all recorded passwords to disk.
+     *
+     * @throws IOException if the active segment cannot be forced.
+     */
+    public synchronized void flush() throws IOException {
+        if (!closed) {
+            activeSegment.force(false);
+        }
+    }
+
+    /**
+     * Flushes and closes the store, waiting for a running compaction to finish.
+     *
+     * @throws IOException if the active segment cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            activeSegment.force(false);
+            activeSegment.close();
+        }
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lockChannel.close();
+        }
+    }
+
+    /**
+     * Removes leftovers of interrupted writes, loads the latest base file, replays all newer
+     * segments and starts a fresh active segment.
+     */
+    private void recover() throws IOException {
+        List<Path> temps = list("", TEMP_SUFFIX);
+        for (Path temp : temps) {
+            Files.delete(temp);
+        }
+
+        long baseId = 0;
+        List<Path> bases = list(BASE_PREFIX, BASE_SUFFIX);
+        for (Path base : bases) {
+            baseId = Math.max(baseId, idOf(base, BASE_PREFIX, BASE_SUFFIX));
+        }
+        for (Path base : bases) {
+            if (idOf(base, BASE_PREFIX, BASE_SUFFIX) < baseId) {
+                Files.delete(base);
+            }
+        }
+        if (baseId > 0) {
+            loadBase(basePath(baseId));
+        }
+
+        List<Path> segments = list(SEGMENT_PREFIX, SEGMENT_SUFFIX);
+        long lastId = baseId;
+        for (Path segment : segments) {
+            lastId = Math.max(lastId, idOf(segment, SEGMENT_PREFIX, SEGMENT_SUFFIX));
+        }
+        for (Path segment : segments) {
+            long id = idOf(segment, SEGMENT_PREFIX, SEGMENT_SUFFIX);
+            if (id <= baseId) {
+                // Already merged into the base by a compaction that crashed before cleaning up.
+                Files.delete(segment);
+            } else {
+                if (replaySegment(segment, id == lastId) == 0) {
+                    Files.delete(segment);
+                } else {
+                    sealedSegments.add(id);
+                }
+            }
+        }
+        openSegment(lastId + 1);
+        scheduleCompactionIfNeeded();
+    }
+
+    private void loadBase(Path base) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(base), 1 << 16))) {
+            if (in.readInt() != BASE_MAGIC) {
+                throw new IOException("Not an issued-password base file: " + base);
+            }
+            long count = in.readLong();
+            if (Files.size(base) != BASE_HEADER_SIZE + count * Long.BYTES) {
+                throw new IOException("Corrupt issued-password base file: " + base);
+            }
+            for (long i = 0; i < count; i++) {
+                index.add(in.readLong());
+            }
+        }
+    }
+
+    /**
+     * Loads every record of the segment. Only the newest segment can have been cut off by a
+     * crash, so only its tail may consist of invalid records and is then truncated; any other
+     * damage is reported as corruption.
+     *
+     * @param newest true if this is the segment that was being written before the store was closed.
+     * @return the number of intact records.
+     * @throws IOException if a record other than the invalid tail of the newest segment is damaged.
+     */
+    private long replaySegment(Path segment, boolean newest) throws IOException {
+        long size = Files.size(segment);
+        long valid = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(segment), 1 << 16))) {
+            byte[] bytes = new byte[RECORD_SIZE];
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            long offset = 0;
+            while (offset + RECORD_SIZE <= size) {
+                in.readFully(bytes);
+                if (!isIntact(buffer)) {
+                    if (!newest) {
+                        throw corruptRecord(segment, offset);
+                    }
+                } else if (valid != offset) {
+                    // An intact record after an invalid one: the invalid record is not a crash tail.
+                    throw corruptRecord(segment, valid);
+                } else {
+                    index.add(buffer.getLong(0));
+                    valid += RECORD_SIZE;
+                }
+                offset += RECORD_SIZE;
+            }
+        }
+        if (valid != size) {
+            if (!newest) {
+                throw new IOException("Truncated issued-password segment: " + segment);
+            }
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+                channel.truncate(valid);
+                channel.force(true);
+            }
+        }
+        return valid / RECORD_SIZE;
+    }
+
+    /**
+     * Checks the CRC32C of the record in the buffer.
+     */
+    private static boolean isIntact(ByteBuffer record) {
+        CRC32C check = new CRC32C();
+        check.update(record.array(), 0, Long.BYTES);
+        return record.getInt(Long.BYTES) == (int) check.getValue();
+    }
+
+    private static IOException corruptRecord(Path segment, long offset) {
+        return new IOException("Corrupt issued-password record in " + segment + " at offset " + offset);
+    }
+
+    private void openSegment(long id) throws IOException {
+        activeSegmentId = id;
+        activeRecords = 0;
+        activeSegment = segmentOpener.open(segmentPath(id));
+        forceDirectory();
+    }
+
+    private void rollSegment() throws IOException {
+        activeSegment.force(false);
+        activeSegment.close();
+        sealedSegments.add(activeSegmentId);
+        openSegment(activeSegmentId + 1);
+        scheduleCompactionIfNeeded();
+    }
+
+    private void scheduleCompactionIfNeeded() {
+        if (!compactionPending && sealedSegments.size() >= COMPACTION_THRESHOLD) {
+            compactionPending = true;
+            List<Long> segments = List.copyOf(sealedSegments);
+            compactor.execute(() -> compact(segments));
+        }
+    }
+
+    /**
+     * Merges the given sealed segments and the current base file into a new base file.
+     * Runs on the compactor thread and only touches files the writer no longer uses.
+     */
+    private void compact(List<Long> segments) {
+        try {
+            long newBaseId = segments.get(segments.size() - 1);
+            long[] fresh = readSegments(segments);
+            Arrays.sort(fresh);
+
+            Path oldBase = list(BASE_PREFIX, BASE_SUFFIX).stream().findFirst().orElse(null);
+            Path temp = directory.resolve(BASE_PREFIX + newBaseId + BASE_SUFFIX + TEMP_SUFFIX);
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                        Channels.newOutputStream(channel.position(BASE_HEADER_SIZE)), 1 << 16));
+                long count = oldBase == null ? mergeInto(out, fresh, null) : mergeBase(out, fresh, oldBase);
+                out.flush();
+                channel.write(ByteBuffer.allocate(BASE_HEADER_SIZE).putInt(BASE_MAGIC).putLong(count).flip(), 0);
+                channel.force(true);
+            }
+            Files.move(temp, basePath(newBaseId), StandardCopyOption.ATOMIC_MOVE);
+            forceDirectory();
+
+            if (oldBase != null) {
+                Files.delete(oldBase);
+            }
+            for (long id : segments) {
+                Files.delete(segmentPath(id));
+            }
+            synchronized (this) {
+                sealedSegments.removeAll(segments);
+                compactionPending = false;
+                if (!closed) {
+                    scheduleCompactionIfNeeded();
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // The segments are left in place, so nothing is lost; the next roll retries the merge.
+            LOGGER.log(System.Logger.Level.ERROR, "Compaction of issued-password history failed: " + directory, e);
+            synchronized (this) {
+                compactionPending = false;
+            }
+        }
+    }
+
+    private long[] readSegments(List<Long> segments) throws IOException {
+        long total = 0;
+        for (long id : segments) {
+            total += Files.size(segmentPath(id)) / RECORD_SIZE;
+        }
+        long[] fingerprints = new long[Math.toIntExact(total)];
+        int position = 0;
+        byte[] bytes = new byte[RECORD_SIZE];
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        for (long id : segments) {
+            Path segment = segmentPath(id);
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                    Files.newInputStream(segment), 1 << 16))) {
+                long records = Files.size(segment) / RECORD_SIZE;
+                for (long i = 0; i < records; i++) {
+                    in.readFully(bytes);
+                    if (!isIntact(buffer)) {
+                        throw corruptRecord(segment, i * RECORD_SIZE);
+                    }
+                    fingerprints[position++] = buffer.getLong(0);
+                }
+            }
+        }
+        return fingerprints;
+    }
+
+    private long mergeBase(DataOutputStream out, long[] fresh, Path base) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(base), 1 << 16))) {
+            in.readInt();
+            return mergeInto(out, fresh, in);
+        }
+    }
+
+    /**
+     * Writes the sorted union of the fresh fingerprints and the base stream, dropping duplicates.
+     *
+     * @return the number of fingerprints written.
+     */
+    private static long mergeInto(DataOutputStream out, long[] fresh, DataInputStream base) throws IOException {
+        long remaining = base == null ? 0 : base.readLong();
+        long count = 0;
+        int i = 0;
+        boolean hasLast = false;
+        long last = 0;
+        long next = remaining > 0 ? base.readLong() : 0;
+        while (i < fresh.length || remaining > 0) {
+            long value;
+            if (remaining > 0 && (i == fresh.length || next <= fresh[i])) {
+                value = next;
+                if (--remaining > 0) {
+                    next = base.readLong();
+                }
+            } else {
+                value = fresh[i++];
+            }
+            if (!hasLast || value != last) {
+                out.writeLong(value);
+                last = value;
+                hasLast = true;
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private long fingerprint(char[] password) {
+        MessageDigest sha256 = digest.get();
+        ByteBuffer encoded = StandardCharsets.UTF_8.encode(CharBuffer.wrap(password));
+        try {
+            sha256.update(salt);
+            sha256.update(encoded);
+            long fingerprint = ByteBuffer.wrap(sha256.digest()).getLong();
+            return fingerprint == 0 ? 1 : fingerprint;
+        } finally {
+            Arrays.fill(encoded.array(), (byte) 0);
+        }
+    }
+
+    private static byte[] loadSalt(Path directory) throws IOException {
+        Path file = directory.resolve(SALT_FILE);
+        if (Files.exists(file)) {
+            byte[] salt = Files.readAllBytes(file);
+            if (salt.length != SALT_LENGTH) {
+                throw new IOException("Corrupt issued-password salt: " + file);
+            }
+            return salt;
+        }
+        byte[] salt = new byte[SALT_LENGTH];
+        RandomSources.create("IssuedPasswordHistory").nextBytes(salt);
+        Path temp = directory.resolve(SALT_FILE + TEMP_SUFFIX);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(ByteBuffer.wrap(salt));
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+        return salt;
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private List<Path> list(String prefix, String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                String name = path.getFileName().toString();
+                return name.startsWith(prefix) && name.endsWith(suffix);
+            }).sorted().toList();
+        }
+    }
+
+    private static long idOf(Path file, String prefix, String suffix) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length()));
+    }
+
+    private Path segmentPath(long id) {
+        return directory.resolve(String.format("%s%016d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX));
+    }
+
+    private Path basePath(long id) {
+        return directory.resolve(String.format("%s%016d%s", BASE_PREFIX, id, BASE_SUFFIX));
+    }
+
+    /**
+     * Opens a new segment file for appending records.
+     */
+    @FunctionalInterface
+    interface SegmentOpener {
+
+        FileChannel open(Path segment) throws IOException;
+    }
+
+    /**
+     * Makes file creations and renames in the store directory durable where the platform allows it.
+     */
+    private void forceDirectory() {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Not supported on every platform; renames are still atomic, only their durability is weaker.
+        }
+    }
+}
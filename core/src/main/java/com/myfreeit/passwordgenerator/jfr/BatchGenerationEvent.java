@@ -0,0 +1,57 @@
+package com.myfreeit.passwordgenerator.jfr;
+
+/*
+ * Copyright (c) 2024, Denis Odesskiy. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of Denis Odesskiy
+ * ("Confidential Information"). You shall not disclose such Confidential Information
+ * and shall use it only in accordance with the terms of the license agreement you
+ * entered into with Denis Odesskiy.
+ */
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for the generation of a batch of passwords, such as a headless run,
+ * a publisher refill or a batch requested in the UI.
+ *
+ * @author Denis Odesskiy
+ * @since 2024
+ */
+@Name(BatchGenerationEvent.NAME)
+@Label("Batch Generation")
+@Description("Generation of several passwords in one go")
+@Category({"Password Generator", "Generation"})
+@StackTrace(false)
+public final class BatchGenerationEvent extends jdk.jfr.Event {
+
+    /**
+     * The event type name used in recordings and settings files.
+     */
+    public static final String NAME = "com.myfreeit.passwordgenerator.BatchGeneration";
+
+    @Label("Source")
+    @Description("What requested the batch: headless, publisher or ui")
+    public String source;
+
+    @Label("Count")
+    public long count;
+
+    @Label("Length")
+    public int length;
+
+    @Label("Special Characters")
+    public boolean specialCharacters;
+
+    @Label("Policy")
+    @Description("Constraints and filters the passwords had to satisfy")
+    public String policy;
+
+    @Label("Rejected Draws")
+    @Description("Characters redrawn by the model during the batch, including by concurrent callers")
+    public long rejectedDraws;
+}
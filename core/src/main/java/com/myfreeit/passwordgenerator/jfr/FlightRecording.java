@@ -0,0 +1,49 @@
+package com.myfreeit.passwordgenerator.jfr;
+
+/*
+ * Copyright (c) 2024, Denis Odesskiy. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of Denis Odesskiy
+ * ("Confidential Information"). You shall not disclose such Confidential Information
+ * and shall use it only in accordance with the terms of the license agreement you
+ * entered into with Denis Odesskiy.
+ */
+
+import jdk.jfr.FlightRecorder;
+
+/**
+ * Decides whether Flight Recorder events should be created at all.
+ *
+ * <p>Loading the first {@link jdk.jfr.Event} subclass pulls in a large part of the
+ * {@code jdk.jfr} module and its bytecode instrumentation, which roughly triples the startup
+ * time of a headless run. Callers therefore only create an event when {@link #isRecording()}
+ * returns true and keep a {@code null} event otherwise, so the event classes are never loaded
+ * unless Flight Recorder has been started, either from the command line or later with
+ * {@code jcmd}. Without the {@code jdk.jfr} module, e.g. on a runtime with only
+ * {@code java.base}, no event is ever created.</p>
+ *
+ * @author Denis Odesskiy
+ * @since 2024
+ */
+public final class FlightRecording {
+
+    /**
+     * Whether {@code jdk.jfr} is in the boot layer. {@link FlightRecorder} is only resolved after
+     * this check has passed, so this class never links against an absent module.
+     */
+    private static final boolean AVAILABLE = ModuleLayer.boot().findModule("jdk.jfr").isPresent();
+
+    private FlightRecording() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Checks whether Flight Recorder is running in this JVM. This is cheap enough to call for
+     * every generated password.
+     *
+     * @return true if events should be created.
+     */
+    public static boolean isRecording() {
+        return AVAILABLE && FlightRecorder.isInitialized();
+    }
+}
@@ -0,0 +1,63 @@
+package com.myfreeit.passwordgenerator.jfr;
+
+/*
+ * Copyright (c) 2024, Denis Odesskiy. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of Denis Odesskiy
+ * ("Confidential Information"). You shall not disclose such Confidential Information
+ * and shall use it only in accordance with the terms of the license agreement you
+ * entered into with Denis Odesskiy.
+ */
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event for the generation of one password by
+ * {@link com.myfreeit.passwordgenerator.Model}.
+ *
+ * <p>Passwords are generated in microseconds, so by default only generations slower than the
+ * threshold are recorded; set it to {@code 0 ms} to see every one.</p>
+ *
+ * @author Denis Odesskiy
+ * @since 2024
+ */
+@Name(PasswordGenerationEvent.NAME)
+@Label("Password Generation")
+@Description("Generation of one password, including redraws and filter rejections")
+@Category({"Password Generator", "Generation"})
+@Threshold("1 ms")
+@StackTrace(false)
+public final class PasswordGenerationEvent extends jdk.jfr.Event {
+
+    /**
+     * The event type name used in recordings and settings files.
+     */
+    public static final String NAME = "com.myfreeit.passwordgenerator.PasswordGeneration";
+
+    @Label("Length")
+    public int length;
+
+    @Label("Special Characters")
+    public boolean specialCharacters;
+
+    @Label("Policy")
+    @Description("Constraints and filters the password had to satisfy")
+    public String policy;
+
+    @Label("Engine")
+    @Description("Sampler that mapped random bytes to characters")
+    public String engine;
+
+    @Label("Attempts")
+    @Description("Number of times the password was generated from scratch")
+    public int attempts;
+
+    @Label("Rejected Draws")
+    @Description("Characters that were drawn and then redrawn")
+    public long rejectedDraws;
+}
@@ -0,0 +1,47 @@
+package com.myfreeit.passwordgenerator.jfr;
+
+/*
+ * Copyright (c) 2024, Denis Odesskiy. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of Denis Odesskiy
+ * ("Confidential Information"). You shall not disclose such Confidential Information
+ * and shall use it only in accordance with the terms of the license agreement you
+ * entered into with Denis Odesskiy.
+ */
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for creating and seeding, or reseeding, a {@link java.security.SecureRandom}.
+ *
+ * <p>Seeding may block on the operating system's entropy source, so this event shows whether
+ * random number generation is where the time goes. The stack trace identifies the caller.</p>
+ *
+ * @author Denis Odesskiy
+ * @since 2024
+ */
+@Name(SecureRandomEvent.NAME)
+@Label("SecureRandom Seeding")
+@Description("Creation and seeding, or reseeding, of a SecureRandom")
+@Category({"Password Generator", "Random"})
+public final class SecureRandomEvent extends jdk.jfr.Event {
+
+    /**
+     * The event type name used in recordings and settings files.
+     */
+    public static final String NAME = "com.myfreeit.passwordgenerator.SecureRandom";
+
+    @Label("Operation")
+    @Description("create or reseed")
+    public String operation;
+
+    @Label("Algorithm")
+    public String algorithm;
+
+    @Label("Context")
+    @Description("Component that uses the random source")
+    public String context;
+}
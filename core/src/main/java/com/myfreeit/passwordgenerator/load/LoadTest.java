@@ -0,0 +1,297 @@
+package com.myfreeit.passwordgenerator.load;
+
+/*
+ * Copyright (c) 2024, Denis Odesskiy. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of Denis Odesskiy
+ * ("Confidential Information"). You shall not disclose such Confidential Information
+ * and shall use it only in accordance with the terms of the license agreement you
+ * entered into with Denis Odesskiy.
+ */
+
+import com.myfreeit.passwordgenerator.Model;
+import com.myfreeit.passwordgenerator.RandomSources;
+import com.myfreeit.passwordgenerator.metrics.LatencyHistogram;
+
+import java.io.PrintStream;
+import java.lang.reflect.InvocationTargetException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives {@link Model} from a number of threads at a fixed target rate and reports latency
+ * percentiles and throughput.
+ *
+ * <p>Usage: {@code --load-test [--threads N] [--rate N] [--duration S] [--warmup S] [--length N]
+ * [--special] [--virtual]}. The target rate is spread evenly over the threads; each thread
+ * runs a closed loop, generating one password at a time and waiting for its next slot in the
+ * schedule.</p>
+ *
+ * <p>A generator that stalls delays every request queued behind it. Timing those requests
+ * only from when they actually started would hide the delay, a problem known as coordinated
+ * omission. So the <em>response time</em> of each request is measured from its scheduled
+ * start, not its actual start. The raw <em>service time</em> is reported alongside it. If the
+ * two diverge at the high percentiles, the generator cannot keep up with the target rate.
+ * Slots still waiting to start when the test ends are recorded with a response time of at
+ * least {@code end - scheduled}, so falling behind at the end is not hidden either.</p>
+ *
+ * <p>Virtual threads are used with {@code --virtual} when the running JVM supports them
+ * (Java 21 or newer); otherwise the test is refused with a usage error.</p>
+ *
+ * @author Denis Odesskiy
+ * @since 2024
+ */
+public final class LoadTest {
+
+    /**
+     * The argument that selects load-test mode.
+     */
+    public static final String LOAD_TEST_OPTION = "--load-test";
+
+    private static final String USAGE = "Usage: --load-test [--threads N] [--rate N] [--duration S]"
+            + " [--warmup S] [--length N] [--special] [--virtual]";
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+    private static final long MAX_RATE = 100_000_000;
+    private static final long SPIN_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final long REPORT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final int threads;
+    private final long rate;
+    private final long durationNanos;
+    private final long warmupNanos;
+    private final int length;
+    private final boolean useSpecialChars;
+    private final ThreadFactory threadFactory;
+
+    private final Model model = new Model();
+    private final LatencyHistogram responseTimes = new LatencyHistogram();
+    private final LatencyHistogram serviceTimes = new LatencyHistogram();
+    private final LongAdder completedInInterval = new LongAdder();
+    private final LongAdder missedSlots = new LongAdder();
+
+    private LoadTest(int threads, long rate, long durationNanos, long warmupNanos, int length,
+                     boolean useSpecialChars, ThreadFactory threadFactory) {
+        this.threads = threads;
+        this.rate = rate;
+        this.durationNanos = durationNanos;
+        this.warmupNanos = warmupNanos;
+        this.length = length;
+        this.useSpecialChars = useSpecialChars;
+        this.threadFactory = threadFactory;
+    }
+
+    /**
+     * Checks whether the command line selects load-test mode.
+     *
+     * @param args The command-line arguments.
+     * @return true if {@link #LOAD_TEST_OPTION} is present.
+     */
+    public static boolean isLoadTest(String[] args) {
+        return Arrays.asList(args).contains(LOAD_TEST_OPTION);
+    }
+
+    /**
+     * Runs the load test described by the command line.
+     *
+     * @param args The command-line arguments.
+     * @param out  The stream the report is written to.
+     * @param err  The stream usage errors and worker failures are written to.
+     * @return The process exit code: 0 on success, 2 on invalid arguments, 1 if a worker failed.
+     */
+    public static int run(String[] args, PrintStream out, PrintStream err) {
+        int threads = Runtime.getRuntime().availableProcessors();
+        long rate = 10_000;
+        long duration = 30;
+        long warmup = 5;
+        int length = 16;
+        boolean useSpecialChars = false;
+        boolean virtual = false;
+        ThreadFactory threadFactory;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case LOAD_TEST_OPTION, "--headless" -> {
+                        // Selects this mode; nothing to parse.
+                    }
+                    case "--threads" -> threads = Integer.parseInt(args[++i]);
+                    case "--rate" -> rate = Long.parseLong(args[++i]);
+                    case "--duration" -> duration = Long.parseLong(args[++i]);
+                    case "--warmup" -> warmup = Long.parseLong(args[++i]);
+                    case "--length" -> length = Integer.parseInt(args[++i]);
+                    case "--special" -> useSpecialChars = true;
+                    case "--virtual" -> virtual = true;
+                    default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+            if (threads < 1 || rate < threads || rate > MAX_RATE || duration < 1 || warmup < 0 || length < 1) {
+                throw new IllegalArgumentException("Threads, duration and length must be positive, warmup must not"
+                        + " be negative and the rate must be between one per thread and " + MAX_RATE);
+            }
+            threadFactory = virtual ? virtualThreadFactory() : platformThreadFactory();
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            err.println(e instanceof IllegalArgumentException ? e.getMessage() : "Missing option value");
+            err.println(USAGE);
+            return 2;
+        }
+
+        LoadTest test;
+        try {
+            test = new LoadTest(threads, rate, TimeUnit.SECONDS.toNanos(duration),
+                    TimeUnit.SECONDS.toNanos(warmup), length, useSpecialChars, threadFactory);
+        } catch (IllegalArgumentException e) {
+            // An unusable passwordgenerator.engine setting.
+            err.println(e.getMessage());
+            return 2;
+        }
+        return test.execute(out, err, virtual ? "virtual" : "platform");
+    }
+
+    private int execute(PrintStream out, PrintStream err, String threadKind) {
+        out.printf("Load test: %d %s threads, target %d passwords/s, length %d%s, warmup %d s, duration %d s%n",
+                threads, threadKind, rate, length, useSpecialChars ? " with special characters" : "",
+                TimeUnit.NANOSECONDS.toSeconds(warmupNanos), TimeUnit.NANOSECONDS.toSeconds(durationNanos));
+        out.printf("%8s %12s %12s%n", "time(s)", "passwords/s", "phase");
+
+        // Spread the first slots of the threads over one period so they do not start in lockstep.
+        long slotNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long periodNanos = slotNanos * threads;
+        long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(10);
+        long measureFrom = start + warmupNanos;
+        long end = measureFrom + durationNanos;
+
+        List<Thread> workers = new ArrayList<>(threads);
+        List<Throwable> failures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            long firstSlot = start + i * slotNanos;
+            Thread worker = threadFactory.newThread(() -> work(firstSlot, periodNanos, measureFrom, end));
+            worker.setUncaughtExceptionHandler((thread, e) -> {
+                synchronized (failures) {
+                    failures.add(e);
+                }
+            });
+            workers.add(worker);
+        }
+        workers.forEach(Thread::start);
+
+        report(out, start, measureFrom, end);
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return 1;
+            }
+        }
+        if (!failures.isEmpty()) {
+            failures.forEach(failure -> failure.printStackTrace(err));
+            return 1;
+        }
+
+        // Only passwords finished inside the measurement window were recorded, plus every missed slot.
+        long missed = missedSlots.sum();
+        long measured = responseTimes.getTotalCount() - missed;
+        out.printf("%nCompleted %d passwords in %d s: %.1f passwords/s (target %d)%n", measured,
+                TimeUnit.NANOSECONDS.toSeconds(durationNanos), measured * 1e9 / durationNanos, rate);
+        if (missed > 0) {
+            out.printf("Warning: %d scheduled passwords were never started and are recorded as waiting until the end;"
+                    + " the target rate is not sustainable%n", missed);
+        }
+        out.printf("%-10s %14s %14s%n", "latency", "response(us)", "service(us)");
+        out.printf("%-10s %14.1f %14.1f%n", "mean", responseTimes.getMean() / 1e3, serviceTimes.getMean() / 1e3);
+        for (double percentile : PERCENTILES) {
+            out.printf("%-10s %14.1f %14.1f%n", "p" + formatPercentile(percentile),
+                    responseTimes.getValueAtPercentile(percentile) / 1e3,
+                    serviceTimes.getValueAtPercentile(percentile) / 1e3);
+        }
+        out.printf("%-10s %14.1f %14.1f%n", "max", responseTimes.getMaxValue() / 1e3, serviceTimes.getMaxValue() / 1e3);
+        return 0;
+    }
+
+    /**
+     * Runs one closed loop: wait for the next scheduled slot, generate a password, record it.
+     */
+    private void work(long firstSlot, long periodNanos, long measureFrom, long end) {
+        SecureRandom random = RandomSources.create("LoadTest");
+        for (long scheduled = firstSlot; scheduled < end; scheduled += periodNanos) {
+            if (System.nanoTime() >= end) {
+                // Behind schedule at the end of the test: the remaining slots never started, so each
+                // of them waited at least until the end.
+                for (; scheduled < end; scheduled += periodNanos) {
+                    responseTimes.record(end - scheduled);
+                    missedSlots.increment();
+                }
+                return;
+            }
+            long now;
+            while ((now = System.nanoTime()) < scheduled) {
+                // Parking overshoots by tens of microseconds, which would show up as response time.
+                if (scheduled - now > SPIN_NANOS) {
+                    LockSupport.parkNanos(scheduled - now - SPIN_NANOS);
+                } else {
+                    Thread.onSpinWait();
+                }
+            }
+            char[] password = model.generatePassword(length, useSpecialChars, random);
+            long finished = System.nanoTime();
+            Arrays.fill(password, '\0');
+
+            completedInInterval.increment();
+            if (finished >= measureFrom && finished < end) {
+                responseTimes.record(finished - scheduled);
+                serviceTimes.record(finished - now);
+            }
+        }
+    }
+
+    /**
+     * Prints the throughput of every reporting interval until the test ends.
+     */
+    private void report(PrintStream out, long start, long measureFrom, long end) {
+        long nextReport = start + REPORT_INTERVAL_NANOS;
+        while (nextReport <= end) {
+            long now;
+            while ((now = System.nanoTime()) < nextReport) {
+                LockSupport.parkNanos(nextReport - now);
+            }
+            long completed = completedInInterval.sumThenReset();
+            out.printf("%8d %12.0f %12s%n", TimeUnit.NANOSECONDS.toSeconds(nextReport - start),
+                    completed * 1e9 / REPORT_INTERVAL_NANOS, nextReport <= measureFrom ? "warmup" : "measure");
+            nextReport += REPORT_INTERVAL_NANOS;
+        }
+    }
+
+    private static String formatPercentile(double percentile) {
+        return percentile == Math.rint(percentile) ? Long.toString((long) percentile) : Double.toString(percentile);
+    }
+
+    private static ThreadFactory platformThreadFactory() {
+        return task -> {
+            Thread thread = new Thread(task, "load-test-worker");
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Looks up {@code Thread.ofVirtual().factory()} reflectively, since this code is compiled for
+     * Java 17, where virtual threads do not exist yet.
+     */
+    private static ThreadFactory virtualThreadFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            return (ThreadFactory) Class.forName("java.lang.Thread$Builder")
+                    .getMethod("factory")
+                    .invoke(builder);
+        } catch (NoSuchMethodException | ClassNotFoundException e) {
+            throw new IllegalArgumentException("Virtual threads require Java 21 or newer");
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalArgumentException("Virtual threads are not available: " + e.getMessage());
+        }
+    }
+}
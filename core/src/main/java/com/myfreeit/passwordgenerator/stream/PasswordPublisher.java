@@ -0,0 +1,287 @@
+package com.myfreeit.passwordgenerator.stream;
+
+/*
+ * Copyright (c) 2024, Denis Odesskiy. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of Denis Odesskiy
+ * ("Confidential Information"). You shall not disclose such Confidential Information
+ * and shall use it only in accordance with the terms of the license agreement you
+ * entered into with Denis Odesskiy.
+ */
+
+import com.myfreeit.passwordgenerator.Model;
+import com.myfreeit.passwordgenerator.RandomSources;
+import com.myfreeit.passwordgenerator.jfr.BatchGenerationEvent;
+import com.myfreeit.passwordgenerator.jfr.FlightRecording;
+
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link Flow.Publisher} that streams passwords generated by a {@link Model} to its subscribers.
+ *
+ * <p>Passwords are only generated when a subscriber signals demand through
+ * {@link Flow.Subscription#request(long)}, so slow consumers such as message-queue producers
+ * or database loaders are never flooded. Each subscription owns a single {@link SecureRandom}
+ * and generates passwords in small batches bounded by the outstanding demand, which amortizes
+ * the cost of the random source without ever buffering more than one batch.</p>
+ *
+ * <p>Every subscriber receives its own independent stream of {@code count} passwords. Each
+ * password is delivered as a fresh {@code char[]} owned by the subscriber, which may wipe it
+ * once it has been consumed. Memory use per subscription is constant regardless of
+ * {@code count}.</p>
+ *
+ * @author Denis Odesskiy
+ * @since 2024
+ */
+public class PasswordPublisher implements Flow.Publisher<char[]> {
+
+    /**
+     * The default maximum number of passwords generated in one batch.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 64;
+
+    private final Model model;
+    private final int length;
+    private final boolean useSpecialChars;
+    private final long count;
+    private final Executor executor;
+    private final int batchSize;
+
+    /**
+     * Creates a publisher that emits {@code count} passwords on the common fork-join pool.
+     *
+     * @param model           The model used to generate passwords.
+     * @param length          The desired length of each password.
+     * @param useSpecialChars If true, includes special characters in the passwords.
+     * @param count           The number of passwords emitted to each subscriber,
+     *                        or {@link Long#MAX_VALUE} for an unbounded stream.
+     */
+    public PasswordPublisher(Model model, int length, boolean useSpecialChars, long count) {
+        this(model, length, useSpecialChars, count, ForkJoinPool.commonPool(), DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Creates a publisher that emits {@code count} passwords on the given executor.
+     *
+     * @param model           The model used to generate passwords.
+     * @param length          The desired length of each password.
+     * @param useSpecialChars If true, includes special characters in the passwords.
+     * @param count           The number of passwords emitted to each subscriber,
+     *                        or {@link Long#MAX_VALUE} for an unbounded stream.
+     * @param executor        The executor on which passwords are generated and delivered.
+     * @param batchSize       The maximum number of passwords generated in one batch.
+     * @throws IllegalArgumentException if {@code count} is negative or {@code batchSize} is not positive.
+     */
+    public PasswordPublisher(Model model, int length, boolean useSpecialChars, long count,
+                             Executor executor, int batchSize) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must not be negative: " + count);
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        }
+        this.model = Objects.requireNonNull(model, "model");
+        this.length = length;
+        this.useSpecialChars = useSpecialChars;
+        this.count = count;
+        this.executor = Objects.requireNonNull(executor, "executor");
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Subscribes the given subscriber to a new, independent stream of passwords.
+     *
+     * @param subscriber The subscriber that will receive the passwords.
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super char[]> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        GenerationSubscription subscription = new GenerationSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        subscription.signal();
+    }
+
+    /**
+     * Subscription that generates passwords on demand and delivers them serially to one subscriber.
+     *
+     * <p>All generation and delivery happens in {@link #drain()}, which the work-in-progress
+     * counter guarantees is never executed concurrently for the same subscription.</p>
+     */
+    private final class GenerationSubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super char[]> subscriber;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private final char[][] batch = new char[batchSize][];
+        private volatile boolean cancelled;
+        private volatile Throwable pendingError;
+        private SecureRandom random;
+        private long emitted;
+        private long generated;
+        private int batchPosition;
+        private int batchLimit;
+
+        GenerationSubscription(Flow.Subscriber<? super char[]> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        /**
+         * Adds {@code n} to the outstanding demand and schedules delivery.
+         *
+         * @param n the number of additional passwords requested.
+         */
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                pendingError = new IllegalArgumentException("non-positive subscription request: " + n);
+            } else {
+                requested.getAndAccumulate(n, (current, add) -> {
+                    long sum = current + add;
+                    return sum < 0 ? Long.MAX_VALUE : sum;
+                });
+            }
+            signal();
+        }
+
+        /**
+         * Cancels the subscription. No further passwords are generated once the current one is delivered.
+         */
+        @Override
+        public void cancel() {
+            cancelled = true;
+            signal();
+        }
+
+        /**
+         * Schedules a drain pass unless one is already pending or running.
+         */
+        void signal() {
+            if (wip.getAndIncrement() == 0) {
+                try {
+                    executor.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    cancelled = true;
+                    subscriber.onError(e);
+                }
+            }
+        }
+
+        /**
+         * Emits as many passwords as the current demand allows, then releases the drain loop.
+         */
+        private void drain() {
+            int missed = 1;
+            do {
+                if (cancelled) {
+                    discardBatch();
+                    return;
+                }
+                Throwable error = pendingError;
+                if (error != null) {
+                    terminate(error);
+                    return;
+                }
+
+                long demand = requested.get();
+                long delivered = 0;
+                while (delivered != demand && emitted != count && !cancelled) {
+                    char[] password;
+                    try {
+                        password = next(demand - delivered);
+                    } catch (RuntimeException e) {
+                        terminate(e);
+                        return;
+                    }
+                    emitted++;
+                    delivered++;
+                    try {
+                        subscriber.onNext(password);
+                    } catch (RuntimeException e) {
+                        cancelled = true;
+                        discardBatch();
+                        return;
+                    }
+                }
+
+                if (emitted == count && !cancelled) {
+                    cancelled = true;
+                    subscriber.onComplete();
+                    return;
+                }
+                if (delivered != 0 && demand != Long.MAX_VALUE) {
+                    requested.addAndGet(-delivered);
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        /**
+         * Returns the next password, refilling the batch when it has been consumed.
+         *
+         * @param demand the number of passwords the subscriber can still accept in this pass.
+         * @return the next password.
+         */
+        private char[] next(long demand) {
+            if (batchPosition == batchLimit) {
+                if (random == null) {
+                    random = RandomSources.create("PasswordPublisher");
+                }
+                BatchGenerationEvent event = FlightRecording.isRecording() ? new BatchGenerationEvent() : null;
+                long rejectedBefore = 0;
+                if (event != null) {
+                    rejectedBefore = event.isEnabled() ? model.getRejectedDraws() : 0;
+                    event.begin();
+                }
+                int target = (int) Math.min(batchSize, Math.min(demand, count - emitted));
+                // Grow the limit one filled slot at a time, so that discardBatch() only ever sees
+                // generated passwords if the model throws partway through the batch.
+                batchPosition = 0;
+                batchLimit = 0;
+                while (batchLimit < target) {
+                    batch[batchLimit] = model.generatePassword(length, useSpecialChars, random);
+                    batchLimit++;
+                    RandomSources.reseedIfDue(random, ++generated, "PasswordPublisher");
+                }
+                if (event != null) {
+                    event.end();
+                    if (event.shouldCommit()) {
+                        event.source = "publisher";
+                        event.count = batchLimit;
+                        event.length = length;
+                        event.specialCharacters = useSpecialChars;
+                        event.policy = model.getPolicy();
+                        event.rejectedDraws = model.getRejectedDraws() - rejectedBefore;
+                        event.commit();
+                    }
+                }
+            }
+            char[] password = batch[batchPosition];
+            batch[batchPosition++] = null;
+            return password;
+        }
+
+        /**
+         * Wipes and drops any generated passwords that will never be delivered.
+         */
+        private void discardBatch() {
+            for (int i = batchPosition; i < batchLimit; i++) {
+                Arrays.fill(batch[i], '\0');
+                batch[i] = null;
+            }
+            batchPosition = batchLimit;
+        }
+
+        private void terminate(Throwable error) {
+            cancelled = true;
+            discardBatch();
+            subscriber.onError(error);
+        }
+    }
+}
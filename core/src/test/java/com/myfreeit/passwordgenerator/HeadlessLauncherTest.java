@@ -0,0 +1,77 @@
+package com.myfreeit.passwordgenerator;
+
+/*
+ * Copyright (c) 2024, Denis Odesskiy. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of Denis Odesskiy
+ * ("Confidential Information"). You shall not disclose such Confidential Information
+ * and shall use it only in accordance with the terms of the license agreement you
+ * entered into with Denis Odesskiy.
+ */
+
+import junit.framework.TestCase;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Tests for the exit codes of {@link HeadlessLauncher}.
+ *
+ * @author Denis Odesskiy
+ * @since 2024
+ */
+public class HeadlessLauncherTest extends TestCase {
+
+    public void testPasswordsAreWritten() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        assertEquals(0, run(out, err, "--headless", "--length", "12", "--count", "3"));
+        String[] passwords = out.toString(StandardCharsets.UTF_8).split(System.lineSeparator());
+        assertEquals(3, passwords.length);
+        for (String password : passwords) {
+            assertEquals(12, password.length());
+        }
+        assertEquals("", err.toString(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * The first three characters are an uppercase letter, a lowercase letter and a digit, which
+     * this rule never allows next to each other.
+     */
+    public void testUnsatisfiableRulesExitWithUsageError() throws IOException {
+        Path rules = Files.createTempFile("unsatisfiable", ".rules");
+        try {
+            Files.write(rules, List.of(
+                    "forbid-look-alike ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789"));
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ByteArrayOutputStream err = new ByteArrayOutputStream();
+            assertEquals(2, run(out, err, "--headless", "--rules", rules.toString()));
+            assertEquals("", out.toString(StandardCharsets.UTF_8));
+            assertTrue(err.toString(StandardCharsets.UTF_8), err.toString(StandardCharsets.UTF_8).contains("Unable"));
+        } finally {
+            Files.delete(rules);
+        }
+    }
+
+    public void testMalformedRulesExitWithUsageError() throws IOException {
+        Path rules = Files.createTempFile("malformed", ".rules");
+        try {
+            Files.write(rules, List.of("forbid-repeat 1"));
+            ByteArrayOutputStream err = new ByteArrayOutputStream();
+            assertEquals(2, run(new ByteArrayOutputStream(), err, "--headless", "--rules", rules.toString()));
+            assertTrue(err.toString(StandardCharsets.UTF_8).contains("forbid-repeat 1"));
+        } finally {
+            Files.delete(rules);
+        }
+    }
+
+    private static int run(ByteArrayOutputStream out, ByteArrayOutputStream err, String... args) {
+        return HeadlessLauncher.run(args, new PrintStream(out, true, StandardCharsets.UTF_8),
+                new PrintStream(err, true, StandardCharsets.UTF_8));
+    }
+}
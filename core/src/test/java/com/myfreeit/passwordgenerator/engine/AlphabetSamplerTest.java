@@ -0,0 +1,160 @@
+package com.myfreeit.passwordgenerator.engine;
+
+/*
+ * Copyright (c) 2024, Denis Odesskiy. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of Denis Odesskiy
+ * ("Confidential Information"). You shall not disclose such Confidential Information
+ * and shall use it only in accordance with the terms of the license agreement you
+ * entered into with Denis Odesskiy.
+ */
+
+import junit.framework.TestCase;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+
+/**
+ * Tests for the output of the {@link AlphabetSampler} implementations and the engine selection.
+ *
+ * @author Denis Odesskiy
+ * @since 2024
+ */
+public class AlphabetSamplerTest extends TestCase {
+
+    private static final char[] PASSWORD_ALPHABET =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789".toCharArray();
+    private static final char UNTOUCHED = '\uFFFF';
+
+    public void testVectorEngineIsTested() {
+        assertTrue("The test JVM must resolve jdk.incubator.vector", AlphabetSamplers.isVectorAvailable());
+        assertTrue(AlphabetSamplers.vector().getName().startsWith("vector-"));
+    }
+
+    /**
+     * Only {@code out[offset, offset + count)} is written, for counts below, at and above one
+     * vector and above one block of random bytes.
+     */
+    public void testOnlyTheRequestedRangeIsFilled() throws NoSuchAlgorithmException {
+        int[] indexes = indexes(PASSWORD_ALPHABET);
+        for (AlphabetSampler sampler : samplers()) {
+            SecureRandom random = seededRandom();
+            for (int count : new int[]{0, 1, 3, 7, 8, 9, 15, 16, 17, 63, 64, 65, 1000, 5003}) {
+                for (int offset : new int[]{0, 1, 5}) {
+                    char[] out = new char[offset + count + 7];
+                    Arrays.fill(out, UNTOUCHED);
+                    sampler.sample(random, PASSWORD_ALPHABET, out, offset, count);
+
+                    String message = sampler.getName() + " offset " + offset + " count " + count;
+                    for (int i = 0; i < out.length; i++) {
+                        boolean inRange = i >= offset && i < offset + count;
+                        assertEquals(message + " position " + i, inRange, indexes[out[i]] >= 0);
+                    }
+                }
+            }
+        }
+    }
+
+    public void testPasswordAlphabetIsUniform() throws NoSuchAlgorithmException {
+        for (AlphabetSampler sampler : samplers()) {
+            assertUniform(sampler, PASSWORD_ALPHABET, 620_000);
+        }
+    }
+
+    /**
+     * With 40000 characters, 65536 random values cannot be spread evenly: without rejecting the
+     * surplus values, some characters would come up twice as often as others.
+     */
+    public void testLargeAlphabetIsUniform() throws NoSuchAlgorithmException {
+        char[] alphabet = new char[40_000];
+        for (int i = 0; i < alphabet.length; i++) {
+            alphabet[i] = (char) (0x1000 + i);
+        }
+        for (AlphabetSampler sampler : samplers()) {
+            assertUniform(sampler, alphabet, 2_000_000);
+        }
+    }
+
+    public void testSingleCharacterAlphabet() throws NoSuchAlgorithmException {
+        for (AlphabetSampler sampler : samplers()) {
+            char[] out = new char[100];
+            sampler.sample(seededRandom(), new char[]{'x'}, out, 0, out.length);
+            for (char c : out) {
+                assertEquals(sampler.getName(), 'x', c);
+            }
+        }
+    }
+
+    public void testEngineProperty() {
+        String previous = System.getProperty(AlphabetSamplers.ENGINE_PROPERTY);
+        try {
+            System.setProperty(AlphabetSamplers.ENGINE_PROPERTY, "Scalar");
+            assertSame(AlphabetSamplers.scalar(), AlphabetSamplers.getDefault());
+            System.setProperty(AlphabetSamplers.ENGINE_PROPERTY, "vector");
+            assertSame(AlphabetSamplers.vector(), AlphabetSamplers.getDefault());
+            System.setProperty(AlphabetSamplers.ENGINE_PROPERTY, "auto");
+            assertSame(AlphabetSamplers.vector(), AlphabetSamplers.getDefault());
+
+            System.setProperty(AlphabetSamplers.ENGINE_PROPERTY, "gpu");
+            try {
+                AlphabetSamplers.getDefault();
+                fail("An unknown engine must be rejected");
+            } catch (IllegalArgumentException expected) {
+                assertTrue(expected.getMessage(), expected.getMessage().contains("gpu"));
+            }
+        } finally {
+            if (previous == null) {
+                System.clearProperty(AlphabetSamplers.ENGINE_PROPERTY);
+            } else {
+                System.setProperty(AlphabetSamplers.ENGINE_PROPERTY, previous);
+            }
+        }
+    }
+
+    /**
+     * Checks the character counts with a chi-squared test. The bound lies six standard deviations
+     * above the expected statistic, and the seeded random source keeps the result reproducible.
+     */
+    private static void assertUniform(AlphabetSampler sampler, char[] alphabet, int samples)
+            throws NoSuchAlgorithmException {
+        char[] out = new char[samples];
+        sampler.sample(seededRandom(), alphabet, out, 0, samples);
+        int[] indexes = indexes(alphabet);
+        int[] counts = new int[alphabet.length];
+        for (char c : out) {
+            counts[indexes[c]]++;
+        }
+
+        double expected = (double) samples / alphabet.length;
+        double chiSquared = 0;
+        for (int count : counts) {
+            chiSquared += (count - expected) * (count - expected) / expected;
+        }
+        int degreesOfFreedom = alphabet.length - 1;
+        double bound = degreesOfFreedom + 6 * Math.sqrt(2.0 * degreesOfFreedom);
+        assertTrue(sampler.getName() + ": chi-squared " + chiSquared + " above " + bound, chiSquared < bound);
+    }
+
+    /**
+     * Maps every char to its position in the alphabet, or -1.
+     */
+    private static int[] indexes(char[] alphabet) {
+        int[] indexes = new int[1 << Character.SIZE];
+        Arrays.fill(indexes, -1);
+        for (int i = 0; i < alphabet.length; i++) {
+            indexes[alphabet[i]] = i;
+        }
+        return indexes;
+    }
+
+    private static AlphabetSampler[] samplers() {
+        return new AlphabetSampler[]{AlphabetSamplers.scalar(), AlphabetSamplers.vector()};
+    }
+
+    private static SecureRandom seededRandom() throws NoSuchAlgorithmException {
+        SecureRandom random = SecureRandom.getInstance("SHA1PRNG");
+        random.setSeed(42);
+        return random;
+    }
+}
@@ -0,0 +1,146 @@
+package com.myfreeit.passwordgenerator.filter;
+
+/*
+ * Copyright (c) 2024, Denis Odesskiy. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of Denis Odesskiy
+ * ("Confidential Information"). You shall not disclose such Confidential Information
+ * and shall use it only in accordance with the terms of the license agreement you
+ * entered into with Denis Odesskiy.
+ */
+
+import com.myfreeit.passwordgenerator.Model;
+import junit.framework.TestCase;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Tests the automaton of {@link BannedSubstringFilter} against a naive substring search.
+ *
+ * @author Denis Odesskiy
+ * @since 2024
+ */
+public class BannedSubstringFilterTest extends TestCase {
+
+    public void testOverlappingWords() {
+        assertMatchesNaive(List.of("abab", "bab", "aab"), "ababab", "abba", "aabab", "bbaab", "aba", "");
+    }
+
+    /**
+     * Words that end inside another word are only found through the failure links.
+     */
+    public void testSuffixWords() {
+        assertMatchesNaive(List.of("he", "she", "his", "hers"), "ushers", "sh", "hi", "ahis", "shh", "xhex");
+        assertMatchesNaive(List.of("abcd", "bc"), "abce", "abxbc", "xabc", "abd");
+        assertMatchesNaive(List.of("abcde", "cdf"), "abcdf", "abcdx", "abcde");
+    }
+
+    public void testMixedCase() {
+        assertMatchesNaive(List.of("PaSs", "WORD", "qwerty"), "xpAsSy", "PASSWORD", "Qwerty1", "pas5", "w0rd");
+    }
+
+    /**
+     * Random word lists over a two-letter alphabet overlap in every possible way.
+     */
+    public void testRandomWordListsMatchNaiveSearch() {
+        Random random = new Random(7);
+        String letters = "abAB";
+        for (int round = 0; round < 500; round++) {
+            List<String> words = new ArrayList<>();
+            for (int w = 1 + random.nextInt(6); w > 0; w--) {
+                words.add(randomString(random, letters, 1 + random.nextInt(5)));
+            }
+            String[] texts = new String[20];
+            for (int t = 0; t < texts.length; t++) {
+                texts[t] = randomString(random, letters + "x", random.nextInt(16));
+            }
+            assertMatchesNaive(words, texts);
+        }
+    }
+
+    /**
+     * Words with a character the alphabet cannot produce in either case are dropped.
+     */
+    public void testWordsOutsideTheAlphabetAreDropped() {
+        List<String> words = List.of("pässword", "Letmein", "abc€");
+        BannedSubstringFilter all = BannedSubstringFilter.compile(words);
+        BannedSubstringFilter producible = BannedSubstringFilter.compile(words, Model.getCharacters(false));
+
+        assertTrue(all.containsBannedWord("xpÄssword"));
+        assertFalse(producible.containsBannedWord("xpÄssword"));
+        assertTrue(all.containsBannedWord("abc€"));
+        assertFalse(producible.containsBannedWord("abc€"));
+        assertTrue(producible.containsBannedWord("1LETMEIN2"));
+        assertFalse(producible.containsBannedWord("pass word"));
+    }
+
+    public void testModelNeverGeneratesABannedWord() {
+        List<String> words = List.of("ab", "Kx", "7q", "zz", "m3", "Q1w", "pass", "Hello");
+        BannedSubstringFilter filter = BannedSubstringFilter.compile(words, Model.getCharacters(true));
+        Model model = new Model(new PasswordConstraint[]{filter});
+        SecureRandom random = new SecureRandom();
+        for (int i = 0; i < 2_000; i++) {
+            String password = new String(model.generatePassword(24, i % 2 == 0, random));
+            assertNull(password, firstBannedWord(words, password));
+        }
+        assertTrue("The words must have been drawn and rejected", model.getRejectedDraws() > 0);
+    }
+
+    /**
+     * Compares both the single-pass scan and the step-by-step use as a constraint with a naive
+     * search: the constraint must reject exactly the character that completes the first banned word.
+     */
+    private static void assertMatchesNaive(List<String> words, String... texts) {
+        BannedSubstringFilter filter = BannedSubstringFilter.compile(words);
+        for (String text : texts) {
+            String message = words + " in \"" + text + "\"";
+            int expectedEnd = firstMatchEnd(words, text);
+            assertEquals(message, expectedEnd >= 0, filter.containsBannedWord(text));
+
+            int state = filter.initialState();
+            int rejectedAt = -1;
+            for (int i = 0; i < text.length(); i++) {
+                state = filter.next(state, text.charAt(i));
+                if (state == PasswordConstraint.REJECT) {
+                    rejectedAt = i;
+                    break;
+                }
+            }
+            assertEquals(message, expectedEnd, rejectedAt);
+        }
+    }
+
+    /**
+     * Returns the index of the character that completes the first banned word, or -1.
+     */
+    private static int firstMatchEnd(List<String> words, String text) {
+        for (int end = 0; end < text.length(); end++) {
+            if (firstBannedWord(words, text.substring(0, end + 1)) != null) {
+                return end;
+            }
+        }
+        return -1;
+    }
+
+    private static String firstBannedWord(List<String> words, String text) {
+        String folded = text.toLowerCase(Locale.ROOT);
+        for (String word : words) {
+            if (folded.contains(word.toLowerCase(Locale.ROOT))) {
+                return word;
+            }
+        }
+        return null;
+    }
+
+    private static String randomString(Random random, String letters, int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(letters.charAt(random.nextInt(letters.length())));
+        }
+        return builder.toString();
+    }
+}
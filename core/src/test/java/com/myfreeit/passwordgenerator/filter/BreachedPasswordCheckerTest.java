@@ -0,0 +1,229 @@
+package com.myfreeit.passwordgenerator.filter;
+
+/*
+ * Copyright (c) 2024, Denis Odesskiy. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of Denis Odesskiy
+ * ("Confidential Information"). You shall not disclose such Confidential Information
+ * and shall use it only in accordance with the terms of the license agreement you
+ * entered into with Denis Odesskiy.
+ */
+
+import junit.framework.TestCase;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Tests for the corpus conversion and the lookup of {@link BreachedPasswordChecker}.
+ *
+ * @author Denis Odesskiy
+ * @since 2024
+ */
+public class BreachedPasswordCheckerTest extends TestCase {
+
+    private static final HexFormat HEX = HexFormat.of();
+    /**
+     * A prefix bucket with enough records for the interpolation search to run.
+     */
+    private static final int FULL_PREFIX = 0x1234;
+
+    private Path directory;
+
+    @Override
+    protected void setUp() throws IOException {
+        directory = Files.createTempDirectory("breached-password-checker");
+    }
+
+    @Override
+    protected void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    /**
+     * Every converted digest is found, and digests around and between them are not: in the same
+     * bucket, before the first and after the last record of a bucket, in empty buckets and at
+     * both ends of the prefix range.
+     */
+    public void testRoundTripFindsExactlyTheConvertedDigests() throws IOException {
+        Random random = new Random(42);
+        List<byte[]> digests = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            digests.add(digest(random, FULL_PREFIX));
+        }
+        for (int prefix : new int[]{0x0000, 0x0001, 0x00ff, 0x1233, 0x1235, 0xfffe, 0xffff}) {
+            digests.add(digest(random, prefix));
+        }
+        digests.sort(Arrays::compareUnsigned);
+
+        BreachedPasswordChecker checker = convertAndOpen(digests, HashAlgorithm.SHA1);
+        assertEquals(digests.size(), checker.size());
+        for (byte[] digest : digests) {
+            assertTrue(HEX.formatHex(digest), checker.contains(digest));
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            byte[] miss = digest(random, FULL_PREFIX);
+            assertEquals(HEX.formatHex(miss), contains(digests, miss), checker.contains(miss));
+        }
+        byte[] beyondLast = filled(FULL_PREFIX, (byte) 0xff);
+        byte[] beforeFirst = filled(FULL_PREFIX, (byte) 0x00);
+        assertFalse(checker.contains(beyondLast));
+        assertFalse(checker.contains(beforeFirst));
+
+        byte[] afterSmallBucket = digests.get(digests.size() - 1).clone();
+        afterSmallBucket[afterSmallBucket.length - 1]++;
+        assertFalse(checker.contains(afterSmallBucket));
+
+        for (int emptyPrefix : new int[]{0x0002, 0x1000, 0x1236, 0x8000}) {
+            assertFalse(checker.contains(digest(random, emptyPrefix)));
+            assertFalse(checker.contains(filled(emptyPrefix, (byte) 0x00)));
+            assertFalse(checker.contains(filled(emptyPrefix, (byte) 0xff)));
+        }
+    }
+
+    /**
+     * A bucket whose records share their leading 64 bits must not break the interpolation.
+     */
+    public void testRecordsWithEqualLeadingBits() throws IOException {
+        List<byte[]> digests = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            byte[] digest = filled(FULL_PREFIX, (byte) 0x55);
+            digest[19] = (byte) (i * 2);
+            digests.add(digest);
+        }
+
+        BreachedPasswordChecker checker = convertAndOpen(digests, HashAlgorithm.SHA1);
+        for (int i = 0; i < 40; i++) {
+            byte[] digest = filled(FULL_PREFIX, (byte) 0x55);
+            digest[19] = (byte) i;
+            assertEquals("last byte " + i, i % 2 == 0, checker.contains(digest));
+        }
+    }
+
+    public void testEmptyCorpus() throws IOException {
+        BreachedPasswordChecker checker = convertAndOpen(List.of(), HashAlgorithm.SHA1);
+        assertEquals(0, checker.size());
+        assertFalse(checker.contains(filled(FULL_PREFIX, (byte) 0x00)));
+        assertTrue(checker.accept("password".toCharArray()));
+    }
+
+    /**
+     * Passwords are hashed with the corpus algorithm, and counts after the hash are ignored.
+     */
+    public void testPasswordsAreHashedWithTheCorpusAlgorithm() throws IOException {
+        Path text = directory.resolve("sha1.txt");
+        Files.writeString(text, "5BAA61E4C9B93F3F0682250B6CF8331B7EE68FD8:3861493\n", StandardCharsets.US_ASCII);
+        Path corpus = directory.resolve("sha1.bin");
+        assertEquals(1, BreachedPasswordChecker.convert(text, corpus, HashAlgorithm.SHA1));
+        BreachedPasswordChecker sha1 = BreachedPasswordChecker.open(corpus);
+        assertSame(HashAlgorithm.SHA1, sha1.getAlgorithm());
+        assertTrue(sha1.isBreached("password".toCharArray()));
+        assertFalse(sha1.accept("password".toCharArray()));
+        assertTrue(sha1.accept("Password".toCharArray()));
+
+        Files.writeString(text, "8846F7EAEE8FB117AD06BDD830B7586C:1\n", StandardCharsets.US_ASCII);
+        assertEquals(1, BreachedPasswordChecker.convert(text, corpus, HashAlgorithm.NTLM));
+        BreachedPasswordChecker ntlm = BreachedPasswordChecker.open(corpus);
+        assertSame(HashAlgorithm.NTLM, ntlm.getAlgorithm());
+        assertTrue(ntlm.isBreached("password".toCharArray()));
+    }
+
+    public void testUnsortedInputIsRejected() throws IOException {
+        assertConvertFails("not sorted", "BBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBBB", "AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA");
+    }
+
+    public void testDuplicatesAreRejected() throws IOException {
+        assertConvertFails("duplicates", "AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA:1", "AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA:2");
+    }
+
+    public void testWrongHashLengthIsRejected() throws IOException {
+        assertConvertFails("Unexpected hash length", "AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA");
+    }
+
+    public void testNonHexInputIsRejected() throws IOException {
+        assertConvertFails("Malformed hash", "ZZZZZZZZZZZZZZZZZZZZZZZZZZZZZZZZZZZZZZZZ");
+    }
+
+    public void testFilesThatAreNoCorpusAreRejected() throws IOException {
+        Path corpus = directory.resolve("corpus.bin");
+        Files.write(corpus, new byte[]{1, 2, 3});
+        assertOpenFails(corpus, "Truncated");
+
+        Files.write(corpus, new byte[64]);
+        assertOpenFails(corpus, "Not a breached-password corpus");
+
+        convertAndOpen(List.of(filled(FULL_PREFIX, (byte) 0x11)), HashAlgorithm.SHA1);
+        byte[] valid = Files.readAllBytes(corpus);
+        Files.write(corpus, Arrays.copyOf(valid, valid.length - 1));
+        assertOpenFails(corpus, "Corrupt");
+    }
+
+    private BreachedPasswordChecker convertAndOpen(List<byte[]> digests, HashAlgorithm algorithm) throws IOException {
+        Path text = directory.resolve("corpus.txt");
+        List<String> lines = new ArrayList<>();
+        for (byte[] digest : digests) {
+            lines.add(HEX.withUpperCase().formatHex(digest) + ":" + (lines.size() + 1));
+        }
+        Files.write(text, lines, StandardCharsets.US_ASCII);
+        Path corpus = directory.resolve("corpus.bin");
+        assertEquals(digests.size(), BreachedPasswordChecker.convert(text, corpus, algorithm));
+        return BreachedPasswordChecker.open(corpus);
+    }
+
+    private void assertConvertFails(String message, String... lines) throws IOException {
+        Path text = directory.resolve("bad.txt");
+        Files.write(text, List.of(lines), StandardCharsets.US_ASCII);
+        Path corpus = directory.resolve("bad.bin");
+        try {
+            BreachedPasswordChecker.convert(text, corpus, HashAlgorithm.SHA1);
+            fail("Converting a malformed dump must fail");
+        } catch (IOException expected) {
+            assertTrue(expected.getMessage(), expected.getMessage().contains(message));
+        }
+        assertFalse(Files.exists(corpus));
+        assertFalse(Files.exists(directory.resolve("bad.bin.tmp")));
+    }
+
+    private static void assertOpenFails(Path corpus, String message) {
+        try {
+            BreachedPasswordChecker.open(corpus);
+            fail("Opening " + message + " file must fail");
+        } catch (IOException expected) {
+            assertTrue(expected.getMessage(), expected.getMessage().contains(message));
+        }
+    }
+
+    private static boolean contains(List<byte[]> digests, byte[] digest) {
+        return digests.stream().anyMatch(candidate -> Arrays.equals(candidate, digest));
+    }
+
+    private static byte[] digest(Random random, int prefix) {
+        byte[] digest = new byte[HashAlgorithm.SHA1.digestLength()];
+        random.nextBytes(digest);
+        digest[0] = (byte) (prefix >>> 8);
+        digest[1] = (byte) prefix;
+        return digest;
+    }
+
+    private static byte[] filled(int prefix, byte value) {
+        byte[] digest = new byte[HashAlgorithm.SHA1.digestLength()];
+        Arrays.fill(digest, value);
+        digest[0] = (byte) (prefix >>> 8);
+        digest[1] = (byte) prefix;
+        return digest;
+    }
+}
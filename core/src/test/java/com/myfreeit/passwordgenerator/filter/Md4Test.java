@@ -0,0 +1,55 @@
+package com.myfreeit.passwordgenerator.filter;
+
+/*
+ * Copyright (c) 2024, Denis Odesskiy. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of Denis Odesskiy
+ * ("Confidential Information"). You shall not disclose such Confidential Information
+ * and shall use it only in accordance with the terms of the license agreement you
+ * entered into with Denis Odesskiy.
+ */
+
+import junit.framework.TestCase;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+
+/**
+ * Tests for {@link Md4} and the NTLM hash built on it.
+ *
+ * @author Denis Odesskiy
+ * @since 2024
+ */
+public class Md4Test extends TestCase {
+
+    /**
+     * The test suite from RFC 1320, appendix A.5. The last two inputs span more than one block.
+     */
+    public void testRfc1320Vectors() {
+        assertMd4("31d6cfe0d16ae931b73c59d7e0c089c0", "");
+        assertMd4("bde52cb31de33e46245e05fbdbd6fb24", "a");
+        assertMd4("a448017aaf21d8525fc10ae87aa6729d", "abc");
+        assertMd4("d9130a8164549fe818874806e1c7014b", "message digest");
+        assertMd4("d79e1c308aa5bbcdeea8ed63df412da9", "abcdefghijklmnopqrstuvwxyz");
+        assertMd4("043f8582f241db351ce627e153e7f0e4",
+                "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789");
+        assertMd4("e33b4ddc9c38f2199c3e7b164fcc0536",
+                "12345678901234567890123456789012345678901234567890123456789012345678901234567890");
+    }
+
+    public void testNtlmOfPassword() {
+        assertEquals("8846f7eaee8fb117ad06bdd830b7586c",
+                HexFormat.of().formatHex(HashAlgorithm.NTLM.hash("password".toCharArray())));
+    }
+
+    public void testNtlmEncodesUtf16LittleEndian() {
+        char[] password = "päss€".toCharArray();
+        assertEquals(HexFormat.of().formatHex(Md4.digest("päss€".getBytes(StandardCharsets.UTF_16LE))),
+                HexFormat.of().formatHex(HashAlgorithm.NTLM.hash(password)));
+    }
+
+    private static void assertMd4(String expected, String input) {
+        assertEquals("MD4(\"" + input + "\")", expected,
+                HexFormat.of().formatHex(Md4.digest(input.getBytes(StandardCharsets.US_ASCII))));
+    }
+}
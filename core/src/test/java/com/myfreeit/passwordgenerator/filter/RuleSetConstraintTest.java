@@ -0,0 +1,153 @@
+package com.myfreeit.passwordgenerator.filter;
+
+/*
+ * Copyright (c) 2024, Denis Odesskiy. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of Denis Odesskiy
+ * ("Confidential Information"). You shall not disclose such Confidential Information
+ * and shall use it only in accordance with the terms of the license agreement you
+ * entered into with Denis Odesskiy.
+ */
+
+import junit.framework.TestCase;
+
+import java.util.List;
+
+/**
+ * Tests for the rule syntax and the individual rules of {@link RuleSetConstraint}.
+ *
+ * @author Denis Odesskiy
+ * @since 2024
+ */
+public class RuleSetConstraintTest extends TestCase {
+
+    public void testHashInsideRuleIsNotAComment() {
+        RuleSetConstraint rules = RuleSetConstraint.compile(List.of(
+                "# Look-alike symbols",
+                "forbid-look-alike H# O0   # comment after whitespace"));
+
+        assertTrue(rules.isViolatedBy("aH#b"));
+        assertTrue(rules.isViolatedBy("a0Ob"));
+        assertFalse(rules.isViolatedBy("aHb#"));
+    }
+
+    public void testCommentAfterWhitespaceIsIgnored() {
+        RuleSetConstraint rules = RuleSetConstraint.compile(List.of("forbid-repeat 3\t# \"aaa\""));
+
+        assertTrue(rules.isViolatedBy("xaaa"));
+        assertFalse(rules.isViolatedBy("aa#\""));
+    }
+
+    public void testMaxRepeats() {
+        RuleSetConstraint three = RuleSetConstraint.compile(List.of("forbid-repeat 3"));
+        assertTrue(three.isViolatedBy("aaa"));
+        assertTrue(three.isViolatedBy("x111y"));
+        assertFalse(three.isViolatedBy("aabaa"));
+        assertFalse(three.isViolatedBy("aAa"));
+        assertFalse(three.isViolatedBy("aa aa"));
+
+        RuleSetConstraint four = RuleSetConstraint.compile(List.of("forbid-repeat 4"));
+        assertFalse(four.isViolatedBy("aaabbb"));
+        assertTrue(four.isViolatedBy("abbbb"));
+    }
+
+    public void testAscendingRuns() {
+        RuleSetConstraint rules = RuleSetConstraint.compile(List.of("forbid-ascending-run 3"));
+        assertTrue(rules.isViolatedBy("abc"));
+        assertTrue(rules.isViolatedBy("x789"));
+        assertTrue(rules.isViolatedBy("XYZ"));
+        assertFalse(rules.isViolatedBy("cba"));
+        assertFalse(rules.isViolatedBy("abd"));
+        assertFalse(rules.isViolatedBy("aBc"));
+        assertFalse(rules.isViolatedBy("ab bc"));
+        assertFalse(rules.isViolatedBy("aabbcc"));
+    }
+
+    public void testDescendingRuns() {
+        RuleSetConstraint rules = RuleSetConstraint.compile(List.of("forbid-descending-run 4"));
+        assertTrue(rules.isViolatedBy("dcba"));
+        assertTrue(rules.isViolatedBy("x4321"));
+        assertFalse(rules.isViolatedBy("cba"));
+        assertFalse(rules.isViolatedBy("abcd"));
+        assertFalse(rules.isViolatedBy("dcbba"));
+    }
+
+    public void testKeyboardWalks() {
+        RuleSetConstraint rules = RuleSetConstraint.compile(List.of("forbid-keyboard-walk 3"));
+        assertTrue(rules.isViolatedBy("qwe"));
+        assertTrue(rules.isViolatedBy("xpoi"));
+        assertTrue(rules.isViolatedBy("l;'"));
+        assertTrue(rules.isViolatedBy("p[]"));
+        // Neighbours in different rows, or keys that are not neighbours, are no walk.
+        assertFalse(rules.isViolatedBy("qaz"));
+        assertFalse(rules.isViolatedBy("qet"));
+        assertFalse(rules.isViolatedBy("mq1"));
+    }
+
+    /**
+     * Turning around restarts the walk from the last two keys.
+     */
+    public void testKeyboardWalkDirectionChanges() {
+        RuleSetConstraint rules = RuleSetConstraint.compile(List.of("forbid-keyboard-walk 3"));
+        assertFalse(rules.isViolatedBy("qwq"));
+        assertFalse(rules.isViolatedBy("qwqwqw"));
+        assertFalse(rules.isViolatedBy("wqw"));
+        assertTrue(rules.isViolatedBy("wqwe"));
+        assertTrue(rules.isViolatedBy("ewqa1qwe"));
+
+        RuleSetConstraint four = RuleSetConstraint.compile(List.of("forbid-keyboard-walk 4"));
+        assertFalse(four.isViolatedBy("qwewqwe"));
+        assertTrue(four.isViolatedBy("ewerewq"));
+    }
+
+    /**
+     * Shifted characters count as their key, so walks are found across shift and case changes.
+     */
+    public void testKeyboardWalksWithShiftedKeys() {
+        RuleSetConstraint rules = RuleSetConstraint.compile(List.of("forbid-keyboard-walk 3"));
+        assertTrue(rules.isViolatedBy("!@#"));
+        assertTrue(rules.isViolatedBy("1@3"));
+        assertTrue(rules.isViolatedBy("QwE"));
+        assertTrue(rules.isViolatedBy("ASD"));
+        assertTrue(rules.isViolatedBy("{}|"));
+        assertTrue(rules.isViolatedBy("<>?"));
+        assertFalse(rules.isViolatedBy("!Q@"));
+    }
+
+    public void testLookAlikeGroups() {
+        RuleSetConstraint rules = RuleSetConstraint.compile(List.of("forbid-look-alike l1I| O0"));
+        assertTrue(rules.isViolatedBy("l1"));
+        assertTrue(rules.isViolatedBy("xI|"));
+        assertTrue(rules.isViolatedBy("a0O"));
+        // The same character twice, different groups and separated characters are allowed.
+        assertFalse(rules.isViolatedBy("ll"));
+        assertFalse(rules.isViolatedBy("1O"));
+        assertFalse(rules.isViolatedBy("lxI"));
+        assertFalse(rules.isViolatedBy("O 0"));
+    }
+
+    /**
+     * All rules are compiled into one automaton; each still applies on its own.
+     */
+    public void testDefaultsCombineRules() {
+        RuleSetConstraint rules = RuleSetConstraint.defaults();
+        assertTrue(rules.isViolatedBy("Xaaa"));
+        assertTrue(rules.isViolatedBy("Xasd"));
+        assertTrue(rules.isViolatedBy("X321"));
+        assertTrue(rules.isViolatedBy("XO0"));
+        assertFalse(rules.isViolatedBy("Xabc"));
+        assertFalse(rules.isViolatedBy("Kp7mR2vx"));
+    }
+
+    public void testMalformedRulesAreRejected() {
+        for (String rule : new String[]{"forbid-repeat", "forbid-repeat 1", "forbid-repeat x",
+                "forbid-everything 3", "forbid-look-alike", "forbid-look-alike aé"}) {
+            try {
+                RuleSetConstraint.compile(List.of(rule));
+                fail("Rule must be rejected: " + rule);
+            } catch (IllegalArgumentException expected) {
+                // Expected.
+            }
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.myfreeit.passwordgenerator.history;
+
+/*
+ * Copyright (c) 2024, Denis Odesskiy. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of Denis Odesskiy
+ * ("Confidential Information"). You shall not disclose such Confidential Information
+ * and shall use it only in accordance with the terms of the license agreement you
+ * entered into with Denis Odesskiy.
+ */
+
+import junit.framework.TestCase;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Tests for the recovery and locking of {@link IssuedPasswordHistory}.
+ *
+ * @author Denis Odesskiy
+ * @since 2024
+ */
+public class IssuedPasswordHistoryTest extends TestCase {
+
+    private static final int RECORD_SIZE = Long.BYTES + Integer.BYTES;
+
+    private Path directory;
+
+    @Override
+    protected void setUp() throws IOException {
+        directory = Files.createTempDirectory("issued-password-history");
+    }
+
+    @Override
+    protected void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    /**
+     * A record cut off by a crash at the end of the newest segment is dropped; all others are kept.
+     */
+    public void testTornTailIsTruncated() throws IOException {
+        recordPasswords(10);
+        Path segment = onlySegment();
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5}));
+        }
+
+        try (IssuedPasswordHistory history = IssuedPasswordHistory.open(directory)) {
+            assertEquals(10, history.size());
+            assertTrue(history.contains(password(9)));
+        }
+        assertEquals(10L * RECORD_SIZE, Files.size(segment));
+    }
+
+    /**
+     * Without syncOnWrite a crash can leave several records that were never written, e.g. zeros,
+     * at the end of the newest segment. All of them are dropped.
+     */
+    public void testUnwrittenTailRecordsAreTruncated() throws IOException {
+        recordPasswords(10);
+        Path segment = onlySegment();
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.allocate(3 * RECORD_SIZE + 5));
+        }
+
+        try (IssuedPasswordHistory history = IssuedPasswordHistory.open(directory, false)) {
+            assertEquals(10, history.size());
+        }
+        assertEquals(10L * RECORD_SIZE, Files.size(segment));
+    }
+
+    /**
+     * A record that could only be written in part, e.g. on a full disk, is cut off again, so the
+     * records written after it stay aligned and the store can still be reopened.
+     */
+    public void testFailedWriteIsCutOff() throws IOException {
+        FailingChannel[] active = new FailingChannel[1];
+        try (IssuedPasswordHistory history = IssuedPasswordHistory.open(directory, true, path -> {
+            active[0] = new FailingChannel(FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND));
+            return active[0];
+        })) {
+            assertTrue(history.record(password(1)));
+            active[0].failNextWrite = true;
+            try {
+                history.record(password(2));
+                fail("The failed write must be reported");
+            } catch (IOException expected) {
+                assertEquals("No space left on device", expected.getMessage());
+            }
+            assertFalse(history.contains(password(2)));
+            assertTrue(history.record(password(3)));
+        }
+
+        try (IssuedPasswordHistory history = IssuedPasswordHistory.open(directory)) {
+            assertEquals(2, history.size());
+            assertTrue(history.contains(password(1)));
+            assertFalse(history.contains(password(2)));
+            assertTrue(history.contains(password(3)));
+        }
+    }
+
+    /**
+     * A damaged record followed by intact ones is corruption and must not be truncated away.
+     */
+    public void testCorruptRecordInTheMiddleFailsOpen() throws IOException {
+        recordPasswords(10);
+        Path segment = onlySegment();
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{(byte) 0xFF}), 3L * RECORD_SIZE);
+        }
+
+        try {
+            IssuedPasswordHistory.open(directory).close();
+            fail("Opening a corrupt store must fail");
+        } catch (IOException expected) {
+            assertTrue(expected.getMessage(), expected.getMessage().contains("Corrupt"));
+        }
+        assertEquals(10L * RECORD_SIZE, Files.size(segment));
+    }
+
+    /**
+     * Only one store may use a directory at a time.
+     */
+    public void testSecondOpenOfSameDirectoryFails() throws IOException {
+        try (IssuedPasswordHistory history = IssuedPasswordHistory.open(directory)) {
+            try {
+                IssuedPasswordHistory.open(directory).close();
+                fail("A second open of the same directory must fail");
+            } catch (IOException expected) {
+                assertTrue(expected.getMessage(), expected.getMessage().contains("already open"));
+            }
+            assertTrue(history.record(password(1)));
+        }
+        IssuedPasswordHistory.open(directory).close();
+    }
+
+    /**
+     * Does the same as the wrapped channel, except that the write after {@link #failNextWrite}
+     * is set only writes part of the buffer and then fails like a full disk.
+     */
+    private static final class FailingChannel extends FileChannel {
+
+        private final FileChannel channel;
+        private boolean failNextWrite;
+
+        FailingChannel(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            if (failNextWrite) {
+                failNextWrite = false;
+                ByteBuffer part = src.duplicate();
+                part.limit(part.position() + 5);
+                src.position(src.position() + channel.write(part));
+                throw new IOException("No space left on device");
+            }
+            return channel.write(src);
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            return channel.read(dst);
+        }
+
+        @Override
+        public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+            return channel.read(dsts, offset, length);
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+            return channel.write(srcs, offset, length);
+        }
+
+        @Override
+        public long position() throws IOException {
+            return channel.position();
+        }
+
+        @Override
+        public FileChannel position(long newPosition) throws IOException {
+            channel.position(newPosition);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return channel.size();
+        }
+
+        @Override
+        public FileChannel truncate(long size) throws IOException {
+            channel.truncate(size);
+            return this;
+        }
+
+        @Override
+        public void force(boolean metaData) throws IOException {
+            channel.force(metaData);
+        }
+
+        @Override
+        public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            return channel.transferTo(position, count, target);
+        }
+
+        @Override
+        public long transferFrom(ReadableByteChannel src, long position, long count) throws IOException {
+            return channel.transferFrom(src, position, count);
+        }
+
+        @Override
+        public int read(ByteBuffer dst, long position) throws IOException {
+            return channel.read(dst, position);
+        }
+
+        @Override
+        public int write(ByteBuffer src, long position) throws IOException {
+            return channel.write(src, position);
+        }
+
+        @Override
+        public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+            return channel.map(mode, position, size);
+        }
+
+        @Override
+        public FileLock lock(long position, long size, boolean shared) throws IOException {
+            return channel.lock(position, size, shared);
+        }
+
+        @Override
+        public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+            return channel.tryLock(position, size, shared);
+        }
+
+        @Override
+        protected void implCloseChannel() throws IOException {
+            channel.close();
+        }
+    }
+
+    private void recordPasswords(int count) throws IOException {
+        try (IssuedPasswordHistory history = IssuedPasswordHistory.open(directory)) {
+            for (int i = 0; i < count; i++) {
+                assertTrue(history.record(password(i)));
+            }
+        }
+    }
+
+    private Path onlySegment() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".log")
+                    && !isEmpty(file)).findFirst().orElseThrow();
+        }
+    }
+
+    private static boolean isEmpty(Path file) {
+        try {
+            return Files.size(file) == 0;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static char[] password(int i) {
+        return ("Password-" + i).toCharArray();
+    }
+}
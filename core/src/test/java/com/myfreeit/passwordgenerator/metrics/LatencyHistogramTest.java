@@ -0,0 +1,130 @@
+package com.myfreeit.passwordgenerator.metrics;
+
+/*
+ * Copyright (c) 2024, Denis Odesskiy. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of Denis Odesskiy
+ * ("Confidential Information"). You shall not disclose such Confidential Information
+ * and shall use it only in accordance with the terms of the license agreement you
+ * entered into with Denis Odesskiy.
+ */
+
+import junit.framework.TestCase;
+
+import java.util.Random;
+
+/**
+ * Tests for the bucketing and percentiles of {@link LatencyHistogram}.
+ *
+ * @author Denis Odesskiy
+ * @since 2024
+ */
+public class LatencyHistogramTest extends TestCase {
+
+    /**
+     * The largest relative error of a reported value: one sub-bucket out of 32. Compared with
+     * {@code <=}, since the exact bound lies just below and rounds to it as a double.
+     */
+    private static final double MAX_RELATIVE_ERROR = 1.0 / 32;
+
+    /**
+     * Small values are reported exactly, also when a larger value raises the maximum.
+     */
+    public void testValuesBelow32AreExact() {
+        for (long value = 0; value < 32; value++) {
+            assertEquals(value, medianOf(value, 1_000_000));
+        }
+        // The first power-of-two range above the exact values is exact as well.
+        for (long value = 32; value < 64; value++) {
+            assertEquals(value, medianOf(value, 1_000_000));
+        }
+    }
+
+    public void testRelativeErrorOfLargeValuesIsBounded() {
+        Random random = new Random(11);
+        for (int i = 0; i < 10_000; i++) {
+            long value = (random.nextLong() >>> 1) >>> random.nextInt(Long.SIZE - 1);
+            if (value < 64) {
+                continue;
+            }
+            long reported = medianOf(value, Long.MAX_VALUE);
+            assertTrue(value + " reported as " + reported, reported >= value);
+            assertTrue(value + " reported as " + reported, (reported - value) / (double) value <= MAX_RELATIVE_ERROR);
+        }
+    }
+
+    public void testLongMaxValue() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(Long.MAX_VALUE);
+        histogram.record(Long.MAX_VALUE - 1);
+        histogram.record(1L << 62);
+
+        assertEquals(3, histogram.getTotalCount());
+        assertEquals(Long.MAX_VALUE, histogram.getMaxValue());
+        assertEquals(Long.MAX_VALUE, histogram.getValueAtPercentile(100));
+        assertEquals(Long.MAX_VALUE, histogram.getValueAtPercentile(50));
+        long lowest = histogram.getValueAtPercentile(0);
+        assertTrue(String.valueOf(lowest), lowest >= 1L << 62
+                && (lowest - (1L << 62)) / (double) (1L << 62) <= MAX_RELATIVE_ERROR);
+    }
+
+    /**
+     * One million values with a tail of 101 slow ones: p99.99 falls into the tail with margin
+     * on both sides, so rounding of the rank cannot move it.
+     */
+    public void testHighPercentilesOfKnownDistribution() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        int count = 1_000_000;
+        int tail = 101;
+        long sum = 0;
+        for (int i = 0; i < count - tail; i++) {
+            histogram.record(1_000 + i % 100);
+            sum += 1_000 + i % 100;
+        }
+        for (int i = 0; i < tail; i++) {
+            histogram.record(5_000_000);
+            sum += 5_000_000;
+        }
+
+        assertEquals(count, histogram.getTotalCount());
+        assertEquals(5_000_000, histogram.getMaxValue());
+        assertEquals(5_000_000, histogram.getValueAtPercentile(99.99));
+        assertEquals(5_000_000, histogram.getValueAtPercentile(100));
+        long p9998 = histogram.getValueAtPercentile(99.98);
+        assertTrue(String.valueOf(p9998), p9998 >= 1_099 && p9998 < 1_099 * (1 + MAX_RELATIVE_ERROR));
+        long median = histogram.getValueAtPercentile(50);
+        assertTrue(String.valueOf(median), median >= 1_049 && median < 1_049 * (1 + MAX_RELATIVE_ERROR));
+        assertEquals((double) sum / count, histogram.getMean(), 1e-9);
+    }
+
+    public void testNegativeValuesAreRecordedAsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        assertEquals(1, histogram.getTotalCount());
+        assertEquals(0, histogram.getValueAtPercentile(100));
+        assertEquals(0.0, histogram.getMean());
+    }
+
+    public void testEmptyAndReset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getValueAtPercentile(99));
+        assertEquals(0.0, histogram.getMean());
+
+        histogram.record(1_234);
+        histogram.reset();
+        assertEquals(0, histogram.getTotalCount());
+        assertEquals(0, histogram.getMaxValue());
+        assertEquals(0, histogram.getValueAtPercentile(50));
+    }
+
+    /**
+     * Returns the median of a histogram holding the value and a larger one, so the value is
+     * reported as its bucket bound rather than capped at the maximum.
+     */
+    private static long medianOf(long value, long larger) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(value);
+        histogram.record(larger);
+        return histogram.getValueAtPercentile(50);
+    }
+}
@@ -0,0 +1,250 @@
+package com.myfreeit.passwordgenerator.stream;
+
+/*
+ * Copyright (c) 2024, Denis Odesskiy. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of Denis Odesskiy
+ * ("Confidential Information"). You shall not disclose such Confidential Information
+ * and shall use it only in accordance with the terms of the license agreement you
+ * entered into with Denis Odesskiy.
+ */
+
+import com.myfreeit.passwordgenerator.Model;
+import com.myfreeit.passwordgenerator.filter.PasswordConstraint;
+import com.myfreeit.passwordgenerator.filter.PasswordFilter;
+import junit.framework.TestCase;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Tests for {@link PasswordPublisher}.
+ *
+ * @author Denis Odesskiy
+ * @since 2024
+ */
+public class PasswordPublisherTest extends TestCase {
+
+    /**
+     * A model that fails partway through a batch must terminate the subscription with
+     * {@code onError} instead of hanging the subscriber.
+     */
+    public void testModelFailureMidBatchSignalsOnError() throws InterruptedException {
+        AtomicInteger accepted = new AtomicInteger();
+        PasswordFilter acceptFirstThree = password -> accepted.incrementAndGet() <= 3;
+        Model model = new Model(new PasswordConstraint[0], acceptFirstThree);
+        PasswordPublisher publisher = new PasswordPublisher(model, 16, false, 100, Runnable::run, 8);
+
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        AtomicInteger received = new AtomicInteger();
+        CountDownLatch terminated = new CountDownLatch(1);
+        publisher.subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(8);
+            }
+
+            @Override
+            public void onNext(char[] item) {
+                received.incrementAndGet();
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                error.set(throwable);
+                terminated.countDown();
+            }
+
+            @Override
+            public void onComplete() {
+                terminated.countDown();
+            }
+        });
+
+        assertTrue("subscriber was never terminated", terminated.await(10, TimeUnit.SECONDS));
+        assertTrue("expected IllegalStateException but got " + error.get(),
+                error.get() instanceof IllegalStateException);
+        assertEquals(0, received.get());
+    }
+
+    /**
+     * With a synchronous executor, exactly the requested passwords are delivered, and no more
+     * are generated than have been requested.
+     */
+    public void testEmissionFollowsDemand() {
+        AtomicInteger generated = new AtomicInteger();
+        PasswordPublisher publisher = countingPublisher(generated, 100, 8);
+        RecordingSubscriber subscriber = new RecordingSubscriber(3);
+        publisher.subscribe(subscriber);
+
+        assertEquals(3, subscriber.received.get());
+        assertEquals(3, generated.get());
+        subscriber.subscription.request(5);
+        assertEquals(8, subscriber.received.get());
+        assertEquals(8, generated.get());
+        assertEquals(0, subscriber.terminations.get());
+    }
+
+    /**
+     * Requests from another thread race with delivery on a pool, but every password must still
+     * be covered by a request made before it arrived.
+     */
+    public void testEmissionNeverExceedsConcurrentDemand() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            AtomicLong requested = new AtomicLong(1);
+            AtomicInteger overflows = new AtomicInteger();
+            CountDownLatch allReceived = new CountDownLatch(200);
+            RecordingSubscriber subscriber = new RecordingSubscriber(1) {
+                @Override
+                public void onNext(char[] item) {
+                    if (received.incrementAndGet() > requested.get()) {
+                        overflows.incrementAndGet();
+                    }
+                    allReceived.countDown();
+                }
+            };
+            new PasswordPublisher(new Model(), 16, false, 1_000, executor, 8).subscribe(subscriber);
+            assertTrue(subscriber.subscribed.await(10, TimeUnit.SECONDS));
+            for (int i = 1; i < 200; i++) {
+                requested.incrementAndGet();
+                subscriber.subscription.request(1);
+            }
+
+            assertTrue("not all requested passwords arrived", allReceived.await(10, TimeUnit.SECONDS));
+            Thread.sleep(100);
+            assertEquals(200, subscriber.received.get());
+            assertEquals(0, overflows.get());
+            assertEquals(0, subscriber.terminations.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    public void testCancelStopsGeneration() {
+        AtomicInteger generated = new AtomicInteger();
+        PasswordPublisher publisher = countingPublisher(generated, 100, 4);
+        RecordingSubscriber subscriber = new RecordingSubscriber(10) {
+            @Override
+            public void onNext(char[] item) {
+                if (received.incrementAndGet() == 3) {
+                    subscription.cancel();
+                }
+            }
+        };
+        publisher.subscribe(subscriber);
+
+        assertEquals(3, subscriber.received.get());
+        // Only the batch the cancelled password came from has been generated.
+        assertEquals(4, generated.get());
+        subscriber.subscription.request(10);
+        assertEquals(3, subscriber.received.get());
+        assertEquals(4, generated.get());
+        assertEquals(0, subscriber.terminations.get());
+    }
+
+    /**
+     * Rule 3.9 of Reactive Streams: a non-positive request must be signalled as an error.
+     */
+    public void testNonPositiveRequestSignalsOnError() {
+        for (long n : new long[]{0, -1, Long.MIN_VALUE}) {
+            AtomicInteger generated = new AtomicInteger();
+            RecordingSubscriber subscriber = new RecordingSubscriber(n);
+            countingPublisher(generated, 100, 8).subscribe(subscriber);
+
+            assertTrue("expected IllegalArgumentException for " + n + " but got " + subscriber.error.get(),
+                    subscriber.error.get() instanceof IllegalArgumentException);
+            assertEquals(0, subscriber.received.get());
+            assertEquals(0, generated.get());
+            assertEquals(1, subscriber.terminations.get());
+        }
+    }
+
+    public void testCompletesAfterExactlyCount() {
+        for (long request : new long[]{Long.MAX_VALUE, 10, 3, 1}) {
+            AtomicInteger generated = new AtomicInteger();
+            RecordingSubscriber subscriber = new RecordingSubscriber(request) {
+                @Override
+                public void onNext(char[] item) {
+                    assertEquals(0, terminations.get());
+                    if (received.incrementAndGet() % request == 0) {
+                        subscription.request(request);
+                    }
+                }
+            };
+            countingPublisher(generated, 10, 4).subscribe(subscriber);
+
+            assertEquals("request " + request, 10, subscriber.received.get());
+            assertEquals("request " + request, 10, generated.get());
+            assertTrue(subscriber.completed);
+            assertEquals(1, subscriber.terminations.get());
+            subscriber.subscription.request(5);
+            assertEquals(10, subscriber.received.get());
+            assertEquals(1, subscriber.terminations.get());
+        }
+    }
+
+    public void testEmptyStreamCompletesOnFirstRequest() {
+        RecordingSubscriber subscriber = new RecordingSubscriber(1);
+        new PasswordPublisher(new Model(), 16, false, 0, Runnable::run, 8).subscribe(subscriber);
+        assertTrue(subscriber.completed);
+        assertEquals(0, subscriber.received.get());
+    }
+
+    /**
+     * Returns a synchronous publisher whose model counts every generated password.
+     */
+    private static PasswordPublisher countingPublisher(AtomicInteger generated, long count, int batchSize) {
+        PasswordFilter counting = password -> generated.incrementAndGet() > 0;
+        Model model = new Model(new PasswordConstraint[0], counting);
+        return new PasswordPublisher(model, 16, false, count, Runnable::run, batchSize);
+    }
+
+    /**
+     * Requests a fixed number of passwords on subscription and records every signal.
+     */
+    private static class RecordingSubscriber implements Flow.Subscriber<char[]> {
+
+        final long initialRequest;
+        final AtomicInteger received = new AtomicInteger();
+        final AtomicInteger terminations = new AtomicInteger();
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        final CountDownLatch subscribed = new CountDownLatch(1);
+        volatile Flow.Subscription subscription;
+        volatile boolean completed;
+
+        RecordingSubscriber(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscribed.countDown();
+            subscription.request(initialRequest);
+        }
+
+        @Override
+        public void onNext(char[] item) {
+            received.incrementAndGet();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error.set(throwable);
+            terminations.incrementAndGet();
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+            terminations.incrementAndGet();
+        }
+    }
+}